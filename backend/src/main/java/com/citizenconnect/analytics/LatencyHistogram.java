@@ -0,0 +1,100 @@
+package com.citizenconnect.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram: values below
+ * 32 get exact buckets, above that each power of two is split into 16 linear
+ * sub-buckets, bounding the relative error at about 6%. Recording is
+ * lock-free, histograms merge by adding counts, and percentile queries walk
+ * a constant number of buckets regardless of how many values were recorded.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_MAGNITUDE - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        long v = Math.min(Math.max(value, 0), MAX_VALUE);
+        counts.incrementAndGet(bucketOf(v));
+        totalCount.incrementAndGet();
+        sum.addAndGet(v);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    public void mergeInto(LatencyHistogram target) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                target.counts.addAndGet(i, c);
+            }
+        }
+        target.totalCount.addAndGet(totalCount.get());
+        target.sum.addAndGet(sum.get());
+        target.max.accumulateAndGet(max.get(), Math::max);
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = totalCount.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the midpoint of the
+     * bucket that contains it.
+     */
+    public long valueAtPercentile(double percentile) {
+        long n = totalCount.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(midpointOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (magnitude - 5) * SUB_BUCKETS + subBucket;
+    }
+
+    static long midpointOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int offset = bucket - LINEAR_BUCKETS;
+        int magnitude = offset / SUB_BUCKETS + 5;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long low = (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return low + ((1L << shift) - 1) / 2;
+    }
+}
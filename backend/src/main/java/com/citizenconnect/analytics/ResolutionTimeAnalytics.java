@@ -0,0 +1,268 @@
+package com.citizenconnect.analytics;
+
+import com.citizenconnect.dto.ResolutionStatsDTO;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolution-time analytics kept as mergeable histograms per category,
+ * politician and constituency (plus an overall series). Each series holds an
+ * all-time histogram and one histogram per resolution day for the retention
+ * window; windowed queries merge the daily histograms they cover. Fed from
+ * issue events after commit and backfilled from existing rows at startup.
+ */
+@Service
+public class ResolutionTimeAnalytics implements MetricsSource {
+
+    public enum Dimension {
+        ALL, CATEGORY, POLITICIAN, CONSTITUENCY
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ResolutionTimeAnalytics.class);
+    private static final String ALL_KEY = "all";
+    private static final double MINUTES_PER_HOUR = 60.0;
+
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final int retentionDays;
+    private final int backfillParallelism;
+    private final long backfillChunkSize;
+
+    private final Map<Dimension, Map<String, Series>> series = new EnumMap<>(Dimension.class);
+    private volatile boolean backfilling;
+    private final AtomicLong backfilledRows = new AtomicLong();
+    private final AtomicLong recordedEvents = new AtomicLong();
+
+    public ResolutionTimeAnalytics(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository,
+            @Value("${analytics.resolution.retention-days:90}") int retentionDays,
+            @Value("${analytics.resolution.backfill-parallelism:3}") int backfillParallelism,
+            @Value("${analytics.resolution.backfill-chunk-size:5000}") long backfillChunkSize) {
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.retentionDays = retentionDays;
+        this.backfillParallelism = backfillParallelism;
+        this.backfillChunkSize = backfillChunkSize;
+        for (Dimension dimension : Dimension.values()) {
+            series.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads every issue resolved before startup, archived ones included,
+     * splitting the id space into chunks read concurrently. Resolutions after the cutoff arrive as events,
+     * so nothing is counted twice.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        // Archived issues keep their ids, so one id space covers both tables
+        Long maxId = max(issueRepository.findMaxId(), archivedIssueRepository.findMaxId());
+        if (maxId == null) {
+            return;
+        }
+        backfilling = true;
+        long started = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(backfillParallelism);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long fromId = 1; fromId <= maxId; fromId += backfillChunkSize) {
+                long from = fromId;
+                long to = fromId + backfillChunkSize - 1;
+                chunks.add(pool.submit(() -> backfillChunk(from, to, cutoff)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            log.info("Resolution-time histograms backfilled from {} issues in {} ms", backfilledRows.get(),
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Resolution-time backfill failed: {}", e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            backfilling = false;
+        }
+    }
+
+    private void backfillChunk(long fromId, long toId, LocalDateTime cutoff) {
+        backfillRows(issueRepository.findResolutionsInIdRange(fromId, toId, cutoff));
+        backfillRows(archivedIssueRepository.findResolutionsInIdRange(fromId, toId, cutoff));
+    }
+
+    private void backfillRows(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            Long politicianId = (Long) row[1];
+            record((String) row[0], politicianId, (String) row[2], (LocalDateTime) row[3], (LocalDateTime) row[4]);
+            backfilledRows.incrementAndGet();
+        }
+    }
+
+    private static Long max(Long a, Long b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.max(a, b);
+    }
+
+    @TransactionalEventListener
+    public void onIssueEvent(IssueEvent event) {
+        if (event.getType() != IssueEvent.Type.UPDATED || event.getResolvedAt() == null
+                || !isFinished(event.getStatus()) || isFinished(event.getPreviousStatus())) {
+            return;
+        }
+        record(event.getCategory(), event.getPoliticianId(), event.getConstituency(), event.getCreatedAt(),
+                event.getResolvedAt());
+        recordedEvents.incrementAndGet();
+    }
+
+    private void record(String category, Long politicianId, String constituency, LocalDateTime createdAt,
+            LocalDateTime resolvedAt) {
+        if (createdAt == null || resolvedAt == null) {
+            return;
+        }
+        long minutes = Duration.between(createdAt, resolvedAt).toMinutes();
+        long day = resolvedAt.toLocalDate().toEpochDay();
+        boolean inWindow = day > LocalDate.now().toEpochDay() - retentionDays;
+        seriesFor(Dimension.ALL, ALL_KEY).record(minutes, day, inWindow);
+        if (category != null) {
+            seriesFor(Dimension.CATEGORY, category).record(minutes, day, inWindow);
+        }
+        if (politicianId != null) {
+            seriesFor(Dimension.POLITICIAN, politicianId.toString()).record(minutes, day, inWindow);
+        }
+        if (constituency != null) {
+            seriesFor(Dimension.CONSTITUENCY, constituency).record(minutes, day, inWindow);
+        }
+    }
+
+    /**
+     * Percentiles for one key. A null or zero {@code days} reads the
+     * all-time histogram; otherwise the last {@code days} daily histograms.
+     */
+    public ResolutionStatsDTO getStats(Dimension dimension, String key, Integer days) {
+        String seriesKey = dimension == Dimension.ALL ? ALL_KEY : key;
+        if (seriesKey == null) {
+            throw new BadRequestException("A key is required for dimension " + dimension);
+        }
+        Series found = series.get(dimension).get(seriesKey);
+        return toDTO(dimension, seriesKey, days, found != null ? found.histogram(windowStart(days)) : null);
+    }
+
+    public List<ResolutionStatsDTO> getStatsByDimension(Dimension dimension, Integer days) {
+        Long windowStart = windowStart(days);
+        List<ResolutionStatsDTO> stats = new ArrayList<>();
+        series.get(dimension).forEach((key, s) -> stats.add(toDTO(dimension, key, days, s.histogram(windowStart))));
+        stats.sort(Comparator.comparing(ResolutionStatsDTO::getKey));
+        return stats;
+    }
+
+    public boolean isBackfilling() {
+        return backfilling;
+    }
+
+    @Scheduled(cron = "${analytics.resolution.prune-cron:0 15 0 * * *}")
+    public void pruneExpiredDays() {
+        long oldestKept = LocalDate.now().toEpochDay() - retentionDays + 1;
+        series.values().forEach(byKey -> byKey.values().forEach(s -> s.daily.headMap(oldestKept).clear()));
+    }
+
+    private Long windowStart(Integer days) {
+        if (days == null || days == 0) {
+            return null;
+        }
+        if (days < 0 || days > retentionDays) {
+            throw new BadRequestException("days must be between 1 and " + retentionDays);
+        }
+        return LocalDate.now().toEpochDay() - days + 1;
+    }
+
+    private Series seriesFor(Dimension dimension, String key) {
+        return series.get(dimension).computeIfAbsent(key, k -> new Series());
+    }
+
+    private static boolean isFinished(IssueStatus status) {
+        return status == IssueStatus.RESOLVED || status == IssueStatus.CLOSED;
+    }
+
+    private static ResolutionStatsDTO toDTO(Dimension dimension, String key, Integer days,
+            LatencyHistogram histogram) {
+        ResolutionStatsDTO dto = new ResolutionStatsDTO();
+        dto.setDimension(dimension.name());
+        dto.setKey(key);
+        dto.setWindowDays(days == null || days == 0 ? null : days);
+        if (histogram != null && histogram.getTotalCount() > 0) {
+            dto.setCount(histogram.getTotalCount());
+            dto.setMeanHours(histogram.getMean() / MINUTES_PER_HOUR);
+            dto.setP50Hours(histogram.valueAtPercentile(50) / MINUTES_PER_HOUR);
+            dto.setP90Hours(histogram.valueAtPercentile(90) / MINUTES_PER_HOUR);
+            dto.setP99Hours(histogram.valueAtPercentile(99) / MINUTES_PER_HOUR);
+            dto.setMaxHours(histogram.getMax() / MINUTES_PER_HOUR);
+        }
+        return dto;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "resolutionAnalytics";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("backfilling", backfilling ? 1 : 0);
+        metrics.put("backfilledRows", backfilledRows.get());
+        metrics.put("recordedEvents", recordedEvents.get());
+        series.forEach((dimension, byKey) -> metrics.put(dimension.name().toLowerCase() + "Series", byKey.size()));
+        return metrics;
+    }
+
+    private static final class Series {
+        private final LatencyHistogram allTime = new LatencyHistogram();
+        private final ConcurrentSkipListMap<Long, LatencyHistogram> daily = new ConcurrentSkipListMap<>();
+
+        private void record(long minutes, long day, boolean inWindow) {
+            allTime.record(minutes);
+            if (inWindow) {
+                daily.computeIfAbsent(day, d -> new LatencyHistogram()).record(minutes);
+            }
+        }
+
+        private LatencyHistogram histogram(Long fromDay) {
+            if (fromDay == null) {
+                return allTime;
+            }
+            LatencyHistogram merged = new LatencyHistogram();
+            daily.tailMap(fromDay).values().forEach(h -> h.mergeInto(merged));
+            return merged;
+        }
+    }
+}
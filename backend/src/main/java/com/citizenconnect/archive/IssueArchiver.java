@@ -0,0 +1,162 @@
+package com.citizenconnect.archive;
+
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.ArchivedCommentRepository;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.CommentRepository;
+import com.citizenconnect.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Moves issues resolved or closed longer than the configured age, with their
+ * comments, from the live tables into archived_issues and archived_comments,
+ * so list, search and count queries only pay for issues that are still
+ * relevant. Works in small chunks, each its own short transaction: the chunk
+ * is locked with SKIP LOCKED, copied with INSERT ... SELECT and deleted, so
+ * a concurrent edit of an issue either finishes first or waits for the chunk.
+ * A pause between chunks leaves room for regular traffic.
+ */
+@Component
+public class IssueArchiver implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueArchiver.class);
+    private static final List<String> ARCHIVABLE = List.of(IssueStatus.RESOLVED.name(), IssueStatus.CLOSED.name());
+
+    private final IssueRepository issueRepository;
+    private final CommentRepository commentRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.resolved-age-days:180}")
+    private int resolvedAgeDays;
+
+    @Value("${archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${archive.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${archive.chunk-pause-ms:200}")
+    private long chunkPauseMs;
+
+    private final LongAdder issuesArchived = new LongAdder();
+    private final LongAdder commentsArchived = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final AtomicLong lastChunkMillis = new AtomicLong();
+
+    public IssueArchiver(IssueRepository issueRepository, CommentRepository commentRepository,
+            ArchivedIssueRepository archivedIssueRepository, ArchivedCommentRepository archivedCommentRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.issueRepository = issueRepository;
+        this.commentRepository = commentRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archives due issues until none are left or the per-run cap is reached;
+     * the remainder waits for the next run.
+     */
+    @Scheduled(fixedDelayString = "${archive.interval-ms:3600000}",
+            initialDelayString = "${archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(resolvedAgeDays);
+        long started = System.currentTimeMillis();
+        long moved = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                int archived = archiveChunk(cutoff);
+                moved += archived;
+                if (archived < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Issue archiving stopped after {} issues: {}", moved, e.getMessage());
+        }
+        runs.increment();
+        lastRunMillis.set(System.currentTimeMillis() - started);
+        if (moved > 0) {
+            log.info("Archived {} issues resolved before {} in {} ms", moved, cutoff, lastRunMillis.get());
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        long started = System.currentTimeMillis();
+        int[] comments = new int[1];
+        Integer archived = transaction.execute(status -> {
+            List<Long> ids = issueRepository.lockArchivable(ARCHIVABLE, cutoff, chunkSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            // Snapshots for the after-commit listeners, taken before the rows disappear
+            List<IssueEvent> events = issueRepository.findAllWithUsersByIdIn(ids).stream()
+                    .map(IssueEvent::archived)
+                    .collect(Collectors.toList());
+            LocalDateTime now = LocalDateTime.now();
+            archivedIssueRepository.copyFromLive(ids, now);
+            comments[0] = archivedCommentRepository.copyFromLive(ids, now);
+            commentRepository.deleteByIssueIds(ids);
+            issueRepository.bulkDelete(ids);
+            events.forEach(eventPublisher::publishEvent);
+            return ids.size();
+        });
+        int count = archived != null ? archived : 0;
+        if (count > 0) {
+            chunks.increment();
+            issuesArchived.add(count);
+            commentsArchived.add(comments[0]);
+            lastChunkMillis.set(System.currentTimeMillis() - started);
+        }
+        return count;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "issueArchive";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("issuesArchived", issuesArchived.sum());
+        metrics.put("commentsArchived", commentsArchived.sum());
+        metrics.put("chunks", chunks.sum());
+        metrics.put("runs", runs.sum());
+        metrics.put("lastRunMillis", lastRunMillis.get());
+        metrics.put("lastChunkMillis", lastChunkMillis.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,32 @@
+package com.citizenconnect.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the versioned migrations in db/migration. Tables are still created and
+ * evolved by Hibernate (ddl-auto), so unlike Spring Boot's own Flyway setup,
+ * which migrates before JPA starts, this one migrates after the
+ * EntityManagerFactory is up and the tables exist. The auto-configured Flyway
+ * is switched off in application.yml (spring.flyway.enabled: false).
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean(initMethod = "migrate")
+    @DependsOn("entityManagerFactory")
+    public Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                // The schema is never empty here (Hibernate created it), so start
+                // the history below V1 and apply every migration
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+}
@@ -0,0 +1,50 @@
+package com.citizenconnect.controller;
+
+import com.citizenconnect.analytics.ResolutionTimeAnalytics;
+import com.citizenconnect.dto.ApiResponse;
+import com.citizenconnect.dto.ResolutionStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Issue resolution-time analytics")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AnalyticsController {
+
+    private final ResolutionTimeAnalytics resolutionTimeAnalytics;
+
+    public AnalyticsController(ResolutionTimeAnalytics resolutionTimeAnalytics) {
+        this.resolutionTimeAnalytics = resolutionTimeAnalytics;
+    }
+
+    @GetMapping("/resolution-time")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @Operation(summary = "Get resolution-time percentiles",
+            description = "p50/p90/p99 in hours for one key; omit days for all time")
+    public ResponseEntity<ApiResponse<ResolutionStatsDTO>> getResolutionStats(
+            @RequestParam(defaultValue = "ALL") ResolutionTimeAnalytics.Dimension dimension,
+            @RequestParam(required = false) String key, @RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(ApiResponse.success(resolutionStatsMessage(),
+                resolutionTimeAnalytics.getStats(dimension, key, days)));
+    }
+
+    @GetMapping("/resolution-time/{dimension}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @Operation(summary = "Get resolution-time percentiles for every key of a dimension")
+    public ResponseEntity<ApiResponse<List<ResolutionStatsDTO>>> getResolutionStatsByDimension(
+            @PathVariable ResolutionTimeAnalytics.Dimension dimension, @RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(ApiResponse.success(resolutionStatsMessage(),
+                resolutionTimeAnalytics.getStatsByDimension(dimension, days)));
+    }
+
+    private String resolutionStatsMessage() {
+        return resolutionTimeAnalytics.isBackfilling() ? "Backfill in progress; figures are partial" : null;
+    }
+}
@@ -3,37 +3,33 @@ package com.citizenconnect.controller;
 import com.citizenconnect.dto.*;
 import com.citizenconnect.entity.Role;
 import com.citizenconnect.exception.BadRequestException;
-import com.citizenconnect.security.JwtTokenProvider;
-import com.citizenconnect.service.EmailService;
+import com.citizenconnect.security.JwtAuthenticationFilter;
+import com.citizenconnect.service.AuthService;
 import com.citizenconnect.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Authentication and registration endpoints")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthService authService;
     private final UserService userService;
-    private final EmailService emailService;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
-            UserService userService, EmailService emailService) {
-        this.authenticationManager = authenticationManager;
-        this.jwtTokenProvider = jwtTokenProvider;
+    public AuthController(AuthService authService, UserService userService) {
+        this.authService = authService;
         this.userService = userService;
-        this.emailService = emailService;
     }
 
     @PostMapping("/register")
@@ -47,8 +43,7 @@ public class AuthController {
             throw new BadRequestException("Only citizen registration is allowed through this endpoint");
         }
 
-        UserDTO user = userService.createUser(request);
-        emailService.sendWelcomeEmail(user.getEmail(), user.getFullName());
+        UserDTO user = userService.register(request);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Registration successful", user));
@@ -65,17 +60,25 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Authenticate and get JWT token")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(
+            @Valid @RequestBody LoginRequest request) {
+        return authService.loginAsync(request)
+                .thenApply(loginResponse -> ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse)));
+    }
 
-        UserDTO userDTO = userService.getUserByEmail(request.getEmail());
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the presented JWT token")
+    public ResponseEntity<ApiResponse<Void>> logout(HttpServletRequest request) {
+        authService.logout(JwtAuthenticationFilter.getJwtFromRequest(request));
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
+    }
 
-        LoginResponse loginResponse = new LoginResponse(token, userDTO);
-        return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
+    @PostMapping("/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Revoke a token by its ID (Admin only)")
+    public ResponseEntity<ApiResponse<Void>> revokeToken(@RequestBody Map<String, String> request) {
+        authService.revoke(request.get("jti"));
+        return ResponseEntity.ok(ApiResponse.success("Token revoked", null));
     }
 
     @GetMapping("/me")
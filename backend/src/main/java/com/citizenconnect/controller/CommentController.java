@@ -3,12 +3,14 @@ package com.citizenconnect.controller;
 import com.citizenconnect.dto.ApiResponse;
 import com.citizenconnect.dto.CommentDTO;
 import com.citizenconnect.dto.CreateCommentRequest;
+import com.citizenconnect.dto.CursorPage;
 import com.citizenconnect.security.AuthenticationFacade;
 import com.citizenconnect.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +25,9 @@ import java.util.Map;
 @SecurityRequirement(name = "Bearer Authentication")
 public class CommentController {
 
+    // Set when the plain comment list was truncated
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CommentService commentService;
     private final AuthenticationFacade authFacade;
 
@@ -42,9 +47,35 @@ public class CommentController {
     }
 
     @GetMapping("/issue/{issueId}")
-    @Operation(summary = "Get comments for an issue")
+    @Operation(summary = "Get comments for an issue",
+            description = "Oldest first, up to comments.list.max-results. A longer thread is cut off and the "
+                    + NEXT_CURSOR_HEADER + " header carries an ASC cursor for the cursor endpoint")
     public ResponseEntity<ApiResponse<List<CommentDTO>>> getCommentsByIssue(@PathVariable Long issueId) {
-        return ResponseEntity.ok(ApiResponse.success(commentService.getCommentsByIssue(issueId)));
+        CursorPage<CommentDTO> comments = commentService.getCommentsByIssue(issueId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (comments.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, comments.getNextCursor());
+        }
+        return response.body(ApiResponse.success(comments.getItems()));
+    }
+
+    @GetMapping("/issue/{issueId}/cursor")
+    @Operation(summary = "Get comments for an issue with cursor pagination",
+            description = "Oldest first (ASC) or newest first (DESC); pass nextCursor with the same direction "
+                    + "to continue")
+    public ResponseEntity<ApiResponse<CursorPage<CommentDTO>>> getCommentsPage(@PathVariable Long issueId,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                commentService.getCommentsPage(issueId, direction, cursor, size)));
+    }
+
+    @GetMapping("/preview")
+    @Operation(summary = "Get the latest comments of several issues",
+            description = "Newest first, keyed by issue id, for feed previews")
+    public ResponseEntity<ApiResponse<Map<Long, List<CommentDTO>>>> getLatestComments(
+            @RequestParam List<Long> issueIds, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success(commentService.getLatestComments(issueIds, limit)));
     }
 
     @GetMapping("/flagged")
@@ -0,0 +1,104 @@
+package com.citizenconnect.controller;
+
+import com.citizenconnect.dto.ApiResponse;
+import com.citizenconnect.dto.ResourceVersion;
+import com.citizenconnect.metrics.MetricsSource;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for read endpoints. The validators are checked before the
+ * response body is built, so a client polling an unchanged resource gets a
+ * 304 without the full query and serialization. Public routes may also be
+ * cached for a short time; private ones must be revalidated on every use.
+ */
+@Component
+public class ConditionalResponses implements MetricsSource {
+
+    private static final CacheControl PRIVATE = CacheControl.noCache().cachePrivate();
+
+    private final CacheControl publicCacheControl;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+
+    public ConditionalResponses(@Value("${http.cache.public-max-age-seconds:30}") long publicMaxAgeSeconds) {
+        this.publicCacheControl = CacheControl.maxAge(Duration.ofSeconds(publicMaxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Answers 304 if the request's validators still match {@code version},
+     * otherwise builds the body. A null version (resource not found) always
+     * falls through to {@code body}, which reports the error as usual.
+     */
+    public <T> ResponseEntity<ApiResponse<T>> respond(String route, ServletWebRequest request,
+            ResourceVersion version, boolean publicRoute, Supplier<T> body) {
+        RouteStats routeStats = stats.computeIfAbsent(route, key -> new RouteStats());
+        routeStats.requests.increment();
+        CacheControl cacheControl = publicRoute ? publicCacheControl : PRIVATE;
+        if (version == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(ApiResponse.success(body.get()));
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            routeStats.conditional.increment();
+        }
+        // Sets ETag and Last-Modified on the response either way, and the status on a match
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            routeStats.notModified.increment();
+            HttpServletResponse response = request.getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            }
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(cacheControl).body(ApiResponse.success(body.get()));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "conditionalGet";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        long conditional = 0;
+        long notModified = 0;
+        for (Map.Entry<String, RouteStats> entry : new TreeMap<>(stats).entrySet()) {
+            RouteStats routeStats = entry.getValue();
+            long routeConditional = routeStats.conditional.sum();
+            long routeNotModified = routeStats.notModified.sum();
+            metrics.put(entry.getKey() + ".requests", routeStats.requests.sum());
+            metrics.put(entry.getKey() + ".conditional", routeConditional);
+            metrics.put(entry.getKey() + ".notModified", routeNotModified);
+            metrics.put(entry.getKey() + ".notModifiedRatio", ratio(routeNotModified, routeConditional));
+            conditional += routeConditional;
+            notModified += routeNotModified;
+        }
+        metrics.put("notModifiedRatio", ratio(notModified, conditional));
+        return metrics;
+    }
+
+    // Share of conditional requests answered with 304
+    private static double ratio(long notModified, long conditional) {
+        return conditional > 0 ? (double) notModified / conditional : 0;
+    }
+
+    private static final class RouteStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder conditional = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+    }
+}
@@ -1,11 +1,21 @@
 package com.citizenconnect.controller;
 
 import com.citizenconnect.dto.ApiResponse;
+import com.citizenconnect.dto.BulkIssueRequest;
+import com.citizenconnect.dto.BulkResultDTO;
 import com.citizenconnect.dto.CreateIssueRequest;
+import com.citizenconnect.dto.CursorPage;
+import com.citizenconnect.dto.DuplicateCandidateDTO;
+import com.citizenconnect.dto.GeoClusterDTO;
 import com.citizenconnect.dto.IssueDTO;
+import com.citizenconnect.dto.IssueThreadDTO;
 import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.geo.IssueGeoService;
 import com.citizenconnect.security.AuthenticationFacade;
+import com.citizenconnect.service.IssueBulkService;
+import com.citizenconnect.service.IssueExportService;
 import com.citizenconnect.service.IssueService;
+import com.citizenconnect.service.ResourceVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,12 +23,18 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -29,10 +45,23 @@ import java.util.Map;
 public class IssueController {
 
     private final IssueService issueService;
+    private final IssueExportService issueExportService;
+    private final IssueBulkService issueBulkService;
+    private final IssueGeoService issueGeoService;
+    private final ResourceVersionService resourceVersionService;
+    private final ConditionalResponses conditionalResponses;
     private final AuthenticationFacade authFacade;
 
-    public IssueController(IssueService issueService, AuthenticationFacade authFacade) {
+    public IssueController(IssueService issueService, IssueExportService issueExportService,
+            IssueBulkService issueBulkService, IssueGeoService issueGeoService,
+            ResourceVersionService resourceVersionService, ConditionalResponses conditionalResponses,
+            AuthenticationFacade authFacade) {
         this.issueService = issueService;
+        this.issueExportService = issueExportService;
+        this.issueBulkService = issueBulkService;
+        this.issueGeoService = issueGeoService;
+        this.resourceVersionService = resourceVersionService;
+        this.conditionalResponses = conditionalResponses;
         this.authFacade = authFacade;
     }
 
@@ -51,10 +80,75 @@ public class IssueController {
         return ResponseEntity.ok(ApiResponse.success(issueService.getAllIssues()));
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get issues with cursor pagination", description = "Newest first; pass nextCursor to continue")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getIssuesPage(
+            @RequestParam(required = false) IssueStatus status, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(issueService.getIssuesPage(null, null, status, cursor, size)));
+    }
+
+    @GetMapping("/my-issues/cursor")
+    @PreAuthorize("hasRole('CITIZEN')")
+    @Operation(summary = "Get current citizen's issues with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getMyIssuesPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Long citizenId = authFacade.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(issueService.getIssuesPage(citizenId, null, null, cursor, size)));
+    }
+
+    @GetMapping("/assigned/cursor")
+    @PreAuthorize("hasRole('POLITICIAN')")
+    @Operation(summary = "Get issues assigned to current politician with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getAssignedIssuesPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Long politicianId = authFacade.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(
+                issueService.getIssuesPage(null, politicianId, null, cursor, size)));
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "Get archived issues with cursor pagination",
+            description = "Issues resolved or closed long ago, moved out of the live lists; newest first")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getArchivedIssuesPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(issueService.getArchivedIssuesPage(null, null, cursor, size)));
+    }
+
+    @GetMapping("/my-issues/history")
+    @PreAuthorize("hasRole('CITIZEN')")
+    @Operation(summary = "Get current citizen's archived issues with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getMyArchivedIssuesPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Long citizenId = authFacade.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(
+                issueService.getArchivedIssuesPage(citizenId, null, cursor, size)));
+    }
+
+    @GetMapping("/assigned/history")
+    @PreAuthorize("hasRole('POLITICIAN')")
+    @Operation(summary = "Get archived issues of current politician with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<IssueDTO>>> getAssignedArchivedIssuesPage(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        Long politicianId = authFacade.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(
+                issueService.getArchivedIssuesPage(null, politicianId, cursor, size)));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get issue by ID")
-    public ResponseEntity<ApiResponse<IssueDTO>> getIssueById(@PathVariable Long id) {
-        return ResponseEntity.ok(ApiResponse.success(issueService.getIssueById(id)));
+    @Operation(summary = "Get issue by ID", description = "Supports If-None-Match / If-Modified-Since")
+    public ResponseEntity<ApiResponse<IssueDTO>> getIssueById(@PathVariable Long id, ServletWebRequest request) {
+        return conditionalResponses.respond("issue", request, resourceVersionService.issue(id), false,
+                () -> issueService.getIssueById(id));
+    }
+
+    @GetMapping("/{id}/thread")
+    @Operation(summary = "Get issue with its first comments",
+            description = "Issue plus the first page of comments, oldest first; continue with comments.nextCursor "
+                    + "on GET /api/comments/issue/{issueId}/cursor")
+    public ResponseEntity<ApiResponse<IssueThreadDTO>> getThread(@PathVariable Long id,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(issueService.getThread(id, size)));
     }
 
     @GetMapping("/my-issues")
@@ -73,6 +167,24 @@ public class IssueController {
         return ResponseEntity.ok(ApiResponse.success(issueService.getIssuesByPolitician(politicianId)));
     }
 
+    @GetMapping("/assigned/queue")
+    @PreAuthorize("hasRole('POLITICIAN')")
+    @Operation(summary = "Get my work queue", description = "Next unclaimed active issues by priority (status, age, "
+            + "comment activity, category)")
+    public ResponseEntity<ApiResponse<List<IssueDTO>>> getWorkQueue(@RequestParam(required = false) Integer limit) {
+        Long politicianId = authFacade.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(issueService.getWorkQueue(politicianId, limit)));
+    }
+
+    @PostMapping("/assigned/queue/claim")
+    @PreAuthorize("hasRole('POLITICIAN')")
+    @Operation(summary = "Claim the next issue from my work queue")
+    public ResponseEntity<ApiResponse<IssueDTO>> claimNextIssue() {
+        Long politicianId = authFacade.getCurrentUserId();
+        IssueDTO issue = issueService.claimNextIssue(politicianId);
+        return ResponseEntity.ok(ApiResponse.success(issue != null ? "Issue claimed" : "No issues left to claim", issue));
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get issues by status")
     public ResponseEntity<ApiResponse<List<IssueDTO>>> getIssuesByStatus(@PathVariable IssueStatus status) {
@@ -87,10 +199,37 @@ public class IssueController {
         return ResponseEntity.ok(ApiResponse.success(issues));
     }
 
+    @GetMapping("/near")
+    @Operation(summary = "Issues near a point", description = "Issues within radiusKm of the point, nearest first")
+    public ResponseEntity<ApiResponse<Page<IssueDTO>>> getIssuesNear(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "2") double radiusKm, @RequestParam(required = false) IssueStatus status,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(issueGeoService.findNear(lat, lng, radiusKm, status, pageable)));
+    }
+
+    @GetMapping("/within")
+    @Operation(summary = "Issues in a bounding box", description = "Issues inside the box, newest first")
+    public ResponseEntity<ApiResponse<Page<IssueDTO>>> getIssuesWithin(@RequestParam double minLat,
+            @RequestParam double minLng, @RequestParam double maxLat, @RequestParam double maxLng,
+            @RequestParam(required = false) IssueStatus status, @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(
+                issueGeoService.findWithin(minLat, minLng, maxLat, maxLng, status, pageable)));
+    }
+
+    @GetMapping("/clusters")
+    @Operation(summary = "Issue clusters for a map view", description = "Issue counts per geohash cell sized for the zoom level")
+    public ResponseEntity<ApiResponse<List<GeoClusterDTO>>> getIssueClusters(@RequestParam double minLat,
+            @RequestParam double minLng, @RequestParam double maxLat, @RequestParam double maxLng,
+            @RequestParam int zoom, @RequestParam(required = false) IssueStatus status) {
+        return ResponseEntity.ok(ApiResponse.success(
+                issueGeoService.clusters(minLat, minLng, maxLat, maxLng, zoom, status)));
+    }
+
     @GetMapping("/search")
-    @Operation(summary = "Search issues")
-    public ResponseEntity<ApiResponse<List<IssueDTO>>> searchIssues(@RequestParam String keyword) {
-        return ResponseEntity.ok(ApiResponse.success(issueService.searchIssues(keyword)));
+    @Operation(summary = "Search issues", description = "Full-text search ranked by relevance (BM25)")
+    public ResponseEntity<ApiResponse<Page<IssueDTO>>> searchIssues(@RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(issueService.searchIssues(keyword, page, size)));
     }
 
     @PutMapping("/{id}/assign")
@@ -141,15 +280,73 @@ public class IssueController {
         return ResponseEntity.ok(ApiResponse.success("Issue deleted successfully", null));
     }
 
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "Get likely duplicates of an issue", description = "Near-duplicate reports by text similarity")
+    public ResponseEntity<ApiResponse<List<DuplicateCandidateDTO>>> getDuplicateCandidates(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(issueService.getDuplicateCandidates(id)));
+    }
+
+    @PutMapping("/{id}/duplicate-of")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR', 'POLITICIAN')")
+    @Operation(summary = "Mark issue as a duplicate", description = "Links the issue to the original report and optionally closes it")
+    public ResponseEntity<ApiResponse<IssueDTO>> markDuplicate(@PathVariable Long id, @RequestParam Long targetId,
+            @RequestParam(defaultValue = "false") boolean close) {
+        IssueDTO issue = issueService.markDuplicate(id, targetId, close);
+        return ResponseEntity.ok(ApiResponse.success("Issue marked as duplicate", issue));
+    }
+
+    @DeleteMapping("/{id}/duplicate-of")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR', 'POLITICIAN')")
+    @Operation(summary = "Remove duplicate link")
+    public ResponseEntity<ApiResponse<IssueDTO>> unmarkDuplicate(@PathVariable Long id) {
+        IssueDTO issue = issueService.unmarkDuplicate(id);
+        return ResponseEntity.ok(ApiResponse.success("Duplicate link removed", issue));
+    }
+
+    @PutMapping("/bulk/assign")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @Operation(summary = "Assign many issues to one politician")
+    public ResponseEntity<ApiResponse<BulkResultDTO>> bulkAssign(@Valid @RequestBody BulkIssueRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Bulk assignment processed", issueBulkService.assign(request)));
+    }
+
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    @Operation(summary = "Update the status of many issues")
+    public ResponseEntity<ApiResponse<BulkResultDTO>> bulkUpdateStatus(@Valid @RequestBody BulkIssueRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Bulk status update processed",
+                issueBulkService.updateStatus(request)));
+    }
+
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete many issues")
+    public ResponseEntity<ApiResponse<BulkResultDTO>> bulkDelete(@Valid @RequestBody BulkIssueRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Bulk delete processed", issueBulkService.delete(request)));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export issues", description = "Streams matching issues, live then archived, as NDJSON (default) or CSV")
+    public ResponseEntity<StreamingResponseBody> exportIssues(
+            @RequestParam(defaultValue = "NDJSON") IssueExportService.Format format,
+            @RequestParam(required = false) IssueStatus status, @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        boolean csv = format == IssueExportService.Format.CSV;
+        StreamingResponseBody body = out -> issueExportService.export(format, status, category, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"issues." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/stats")
     @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     @Operation(summary = "Get issue statistics")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getIssueStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("open", issueService.countByStatus(IssueStatus.OPEN));
-        stats.put("inProgress", issueService.countByStatus(IssueStatus.IN_PROGRESS));
-        stats.put("resolved", issueService.countByStatus(IssueStatus.RESOLVED));
-        stats.put("closed", issueService.countByStatus(IssueStatus.CLOSED));
-        return ResponseEntity.ok(ApiResponse.success(stats));
+        return ResponseEntity.ok(ApiResponse.success(issueService.getStatusStats()));
     }
 }
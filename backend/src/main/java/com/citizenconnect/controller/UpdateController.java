@@ -4,6 +4,7 @@ import com.citizenconnect.dto.ApiResponse;
 import com.citizenconnect.dto.CreateUpdateRequest;
 import com.citizenconnect.dto.UpdateDTO;
 import com.citizenconnect.security.AuthenticationFacade;
+import com.citizenconnect.service.ResourceVersionService;
 import com.citizenconnect.service.UpdateService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -16,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -25,10 +27,15 @@ import java.util.List;
 public class UpdateController {
 
     private final UpdateService updateService;
+    private final ResourceVersionService resourceVersionService;
+    private final ConditionalResponses conditionalResponses;
     private final AuthenticationFacade authFacade;
 
-    public UpdateController(UpdateService updateService, AuthenticationFacade authFacade) {
+    public UpdateController(UpdateService updateService, ResourceVersionService resourceVersionService,
+            ConditionalResponses conditionalResponses, AuthenticationFacade authFacade) {
         this.updateService = updateService;
+        this.resourceVersionService = resourceVersionService;
+        this.conditionalResponses = conditionalResponses;
         this.authFacade = authFacade;
     }
 
@@ -44,16 +51,18 @@ public class UpdateController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all published updates")
-    public ResponseEntity<ApiResponse<List<UpdateDTO>>> getAllPublishedUpdates() {
-        return ResponseEntity.ok(ApiResponse.success(updateService.getAllPublishedUpdates()));
+    @Operation(summary = "Get all published updates", description = "Supports If-None-Match")
+    public ResponseEntity<ApiResponse<List<UpdateDTO>>> getAllPublishedUpdates(ServletWebRequest request) {
+        return conditionalResponses.respond("updates", request, resourceVersionService.publishedUpdates(), true,
+                updateService::getAllPublishedUpdates);
     }
 
     @GetMapping("/paged")
     @Operation(summary = "Get updates with pagination")
     public ResponseEntity<ApiResponse<Page<UpdateDTO>>> getUpdatesWithPaging(
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(ApiResponse.success(updateService.getPublishedUpdatesWithPaging(pageable)));
+            @PageableDefault(size = 10) Pageable pageable, ServletWebRequest request) {
+        return conditionalResponses.respond("updates", request, resourceVersionService.publishedUpdates(), true,
+                () -> updateService.getPublishedUpdatesWithPaging(pageable));
     }
 
     @GetMapping("/{id}")
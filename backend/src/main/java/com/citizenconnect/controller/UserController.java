@@ -4,6 +4,7 @@ import com.citizenconnect.dto.ApiResponse;
 import com.citizenconnect.dto.RegisterRequest;
 import com.citizenconnect.dto.UserDTO;
 import com.citizenconnect.entity.Role;
+import com.citizenconnect.service.ResourceVersionService;
 import com.citizenconnect.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -25,9 +27,14 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final ResourceVersionService resourceVersionService;
+    private final ConditionalResponses conditionalResponses;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ResourceVersionService resourceVersionService,
+            ConditionalResponses conditionalResponses) {
         this.userService = userService;
+        this.resourceVersionService = resourceVersionService;
+        this.conditionalResponses = conditionalResponses;
     }
 
     @GetMapping
@@ -50,15 +57,19 @@ public class UserController {
     }
 
     @GetMapping("/politicians")
-    @Operation(summary = "Get all politicians")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getPoliticians() {
-        return ResponseEntity.ok(ApiResponse.success(userService.getUsersByRole(Role.POLITICIAN)));
+    @Operation(summary = "Get all politicians", description = "Supports If-None-Match")
+    public ResponseEntity<ApiResponse<List<UserDTO>>> getPoliticians(ServletWebRequest request) {
+        return conditionalResponses.respond("politicians", request, resourceVersionService.politicians(), true,
+                () -> userService.getUsersByRole(Role.POLITICIAN));
     }
 
     @GetMapping("/politicians/constituency/{constituency}")
     @Operation(summary = "Get politicians by constituency")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getPoliticiansByConstituency(@PathVariable String constituency) {
-        return ResponseEntity.ok(ApiResponse.success(userService.getPoliticiansByConstituency(constituency)));
+    public ResponseEntity<ApiResponse<List<UserDTO>>> getPoliticiansByConstituency(@PathVariable String constituency,
+            ServletWebRequest request) {
+        return conditionalResponses.respond("politicians", request,
+                resourceVersionService.politicians(constituency), true,
+                () -> userService.getPoliticiansByConstituency(constituency));
     }
 
     @PostMapping
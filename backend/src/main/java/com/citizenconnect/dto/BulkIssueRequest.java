@@ -0,0 +1,45 @@
+package com.citizenconnect.dto;
+
+import com.citizenconnect.entity.IssueStatus;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class BulkIssueRequest {
+    @NotEmpty(message = "At least one issue id is required")
+    private List<@NotNull Long> issueIds;
+
+    // Required for bulk assign
+    private Long politicianId;
+
+    // Required for bulk status change
+    private IssueStatus status;
+
+    public BulkIssueRequest() {
+    }
+
+    // Getters and Setters
+    public List<Long> getIssueIds() {
+        return issueIds;
+    }
+
+    public void setIssueIds(List<Long> issueIds) {
+        this.issueIds = issueIds;
+    }
+
+    public Long getPoliticianId() {
+        return politicianId;
+    }
+
+    public void setPoliticianId(Long politicianId) {
+        this.politicianId = politicianId;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,86 @@
+package com.citizenconnect.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk issue operation, with one entry per requested id in
+ * request order.
+ */
+public class BulkResultDTO {
+
+    public enum Outcome {
+        UPDATED, DELETED, UNCHANGED, NOT_FOUND,
+        // Not a legal transition from the issue's status, or it changed concurrently
+        CONFLICT
+    }
+
+    private int requested;
+    private int succeeded;
+    private List<ItemResult> results = new ArrayList<>();
+
+    public BulkResultDTO() {
+    }
+
+    public void add(Long issueId, Outcome outcome) {
+        results.add(new ItemResult(issueId, outcome));
+        requested++;
+        if (outcome == Outcome.UPDATED || outcome == Outcome.DELETED) {
+            succeeded++;
+        }
+    }
+
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public List<ItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ItemResult> results) {
+        this.results = results;
+    }
+
+    public static class ItemResult {
+        private Long issueId;
+        private Outcome outcome;
+
+        public ItemResult() {
+        }
+
+        public ItemResult(Long issueId, Outcome outcome) {
+            this.issueId = issueId;
+            this.outcome = outcome;
+        }
+
+        public Long getIssueId() {
+            return issueId;
+        }
+
+        public void setIssueId(Long issueId) {
+            this.issueId = issueId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public void setOutcome(Outcome outcome) {
+            this.outcome = outcome;
+        }
+    }
+}
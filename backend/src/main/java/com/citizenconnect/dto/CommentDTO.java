@@ -1,5 +1,7 @@
 package com.citizenconnect.dto;
 
+import com.citizenconnect.entity.Role;
+
 import java.time.LocalDateTime;
 
 public class CommentDTO {
@@ -16,6 +18,23 @@ public class CommentDTO {
     public CommentDTO() {
     }
 
+    /**
+     * Constructor-expression target for the JPQL comment projections, which
+     * read the author in the same query as the comment.
+     */
+    public CommentDTO(Long id, String content, boolean flagged, String flagReason, LocalDateTime createdAt,
+            Long issueId, Long userId, String userName, Role userRole) {
+        this.id = id;
+        this.content = content;
+        this.flagged = flagged;
+        this.flagReason = flagReason;
+        this.createdAt = createdAt;
+        this.issueId = issueId;
+        this.userId = userId;
+        this.userName = userName;
+        this.userRole = userRole != null ? userRole.name() : null;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,78 @@
+package com.citizenconnect.dto;
+
+import com.citizenconnect.entity.IssueStatus;
+import java.time.LocalDateTime;
+
+/**
+ * An existing issue that looks like a near-duplicate of another, with the
+ * estimated Jaccard similarity of their text (0 to 1).
+ */
+public class DuplicateCandidateDTO {
+    private Long issueId;
+    private String title;
+    private String category;
+    private IssueStatus status;
+    private LocalDateTime createdAt;
+    private double similarity;
+
+    public DuplicateCandidateDTO() {
+    }
+
+    public DuplicateCandidateDTO(IssueDTO issue, double similarity) {
+        this.issueId = issue.getId();
+        this.title = issue.getTitle();
+        this.category = issue.getCategory();
+        this.status = issue.getStatus();
+        this.createdAt = issue.getCreatedAt();
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(Long issueId) {
+        this.issueId = issueId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(double similarity) {
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.citizenconnect.dto;
+
+/**
+ * Issues aggregated into one geohash cell for a map zoom level, positioned
+ * at the mean coordinates of the issues it contains.
+ */
+public class GeoClusterDTO {
+    private String geohash;
+    private long count;
+    private double latitude;
+    private double longitude;
+
+    public GeoClusterDTO() {
+    }
+
+    public GeoClusterDTO(String geohash, long count, double latitude, double longitude) {
+        this.geohash = geohash;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters and Setters
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -2,6 +2,7 @@ package com.citizenconnect.dto;
 
 import com.citizenconnect.entity.IssueStatus;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class IssueDTO {
     private Long id;
@@ -9,6 +10,8 @@ public class IssueDTO {
     private String description;
     private String category;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private String attachmentFileName;
     private String attachmentUrl;
     private IssueStatus status;
@@ -21,10 +24,46 @@ public class IssueDTO {
     private Long assignedPoliticianId;
     private String assignedPoliticianName;
     private int commentCount;
+    private Long duplicateOfId;
+    // True when read from the archive; archived issues are read-only
+    private boolean archived;
+    // Only filled in on the create response
+    private List<DuplicateCandidateDTO> duplicateCandidates;
 
     public IssueDTO() {
     }
 
+    /**
+     * Constructor-expression target for the JPQL list projections, which read
+     * the citizen and politician names in the same query as the issue.
+     */
+    public IssueDTO(Long id, String title, String description, String category, String location,
+            Double latitude, Double longitude, String attachmentFileName, String attachmentUrl, IssueStatus status,
+            String response, String resolutionNotes, LocalDateTime resolvedAt, LocalDateTime createdAt,
+            Long citizenId, String citizenName, Long assignedPoliticianId, String assignedPoliticianName,
+            int commentCount, Long duplicateOfId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.attachmentFileName = attachmentFileName;
+        this.attachmentUrl = attachmentUrl;
+        this.status = status;
+        this.response = response;
+        this.resolutionNotes = resolutionNotes;
+        this.resolvedAt = resolvedAt;
+        this.createdAt = createdAt;
+        this.citizenId = citizenId;
+        this.citizenName = citizenName;
+        this.assignedPoliticianId = assignedPoliticianId;
+        this.assignedPoliticianName = assignedPoliticianName;
+        this.commentCount = commentCount;
+        this.duplicateOfId = duplicateOfId;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -66,6 +105,22 @@ public class IssueDTO {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getAttachmentFileName() {
         return attachmentFileName;
     }
@@ -161,4 +216,28 @@ public class IssueDTO {
     public void setCommentCount(int commentCount) {
         this.commentCount = commentCount;
     }
+
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+
+    public void setDuplicateOfId(Long duplicateOfId) {
+        this.duplicateOfId = duplicateOfId;
+    }
+
+    public List<DuplicateCandidateDTO> getDuplicateCandidates() {
+        return duplicateCandidates;
+    }
+
+    public void setDuplicateCandidates(List<DuplicateCandidateDTO> duplicateCandidates) {
+        this.duplicateCandidates = duplicateCandidates;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
 }
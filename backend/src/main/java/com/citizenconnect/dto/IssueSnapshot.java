@@ -0,0 +1,92 @@
+package com.citizenconnect.dto;
+
+import com.citizenconnect.entity.IssueStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The few columns a transition needs (to validate it, publish the
+ * IssueEvent and send notifications), read with one projection query instead
+ * of loading the issue and its users as entities.
+ */
+public class IssueSnapshot {
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final IssueStatus status;
+    private final Long citizenId;
+    private final String citizenEmail;
+    private final Long politicianId;
+    // Assigned politician's constituency, else the citizen's
+    private final String constituency;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime resolvedAt;
+    private final int commentCount;
+    private final Long duplicateOfId;
+
+    public IssueSnapshot(Long id, String title, String category, IssueStatus status, Long citizenId,
+            String citizenEmail, Long politicianId, String constituency, LocalDateTime createdAt,
+            LocalDateTime resolvedAt, int commentCount, Long duplicateOfId) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.status = status;
+        this.citizenId = citizenId;
+        this.citizenEmail = citizenEmail;
+        this.politicianId = politicianId;
+        this.constituency = constituency;
+        this.createdAt = createdAt;
+        this.resolvedAt = resolvedAt;
+        this.commentCount = commentCount;
+        this.duplicateOfId = duplicateOfId;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public Long getCitizenId() {
+        return citizenId;
+    }
+
+    public String getCitizenEmail() {
+        return citizenEmail;
+    }
+
+    public Long getPoliticianId() {
+        return politicianId;
+    }
+
+    public String getConstituency() {
+        return constituency;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+}
@@ -0,0 +1,36 @@
+package com.citizenconnect.dto;
+
+/**
+ * An issue together with the first page of its comments, for the issue
+ * detail page. Further comments are read with comments.nextCursor from
+ * GET /api/comments/issue/{issueId}/cursor.
+ */
+public class IssueThreadDTO {
+    private IssueDTO issue;
+    private CursorPage<CommentDTO> comments;
+
+    public IssueThreadDTO() {
+    }
+
+    public IssueThreadDTO(IssueDTO issue, CursorPage<CommentDTO> comments) {
+        this.issue = issue;
+        this.comments = comments;
+    }
+
+    // Getters and Setters
+    public IssueDTO getIssue() {
+        return issue;
+    }
+
+    public void setIssue(IssueDTO issue) {
+        this.issue = issue;
+    }
+
+    public CursorPage<CommentDTO> getComments() {
+        return comments;
+    }
+
+    public void setComments(CursorPage<CommentDTO> comments) {
+        this.comments = comments;
+    }
+}
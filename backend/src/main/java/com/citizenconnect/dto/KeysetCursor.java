@@ -0,0 +1,82 @@
+package com.citizenconnect.dto;
+
+import com.citizenconnect.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by (createdAt, id), encoded as an opaque
+ * URL-safe token so clients cannot depend on its contents. Lists that can be
+ * read in either order also encode the direction, so a cursor cannot be
+ * replayed against the opposite order.
+ */
+public class KeysetCursor {
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final Sort.Direction direction;
+
+    public KeysetCursor(LocalDateTime createdAt, Long id, Sort.Direction direction) {
+        this.createdAt = createdAt;
+        this.id = id;
+        this.direction = direction;
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        return encodeRaw(createdAt + "|" + id);
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id, Sort.Direction direction) {
+        return encodeRaw(createdAt + "|" + id + "|" + direction);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from a request, or returns null for the first page.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 && parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    parts.length == 3 ? Sort.Direction.valueOf(parts[2]) : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor that must have been issued for {@code direction}.
+     */
+    public static KeysetCursor decode(String token, Sort.Direction direction) {
+        KeysetCursor position = decode(token);
+        if (position != null && position.direction != direction) {
+            throw new BadRequestException("Cursor was not issued for " + direction + " order");
+        }
+        return position;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+}
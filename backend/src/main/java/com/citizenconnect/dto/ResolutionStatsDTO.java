@@ -0,0 +1,89 @@
+package com.citizenconnect.dto;
+
+public class ResolutionStatsDTO {
+    private String dimension;
+    private String key;
+    private Integer windowDays;
+    private long count;
+    private double meanHours;
+    private double p50Hours;
+    private double p90Hours;
+    private double p99Hours;
+    private double maxHours;
+
+    public ResolutionStatsDTO() {
+    }
+
+    // Getters and Setters
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Integer getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(Integer windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMeanHours() {
+        return meanHours;
+    }
+
+    public void setMeanHours(double meanHours) {
+        this.meanHours = meanHours;
+    }
+
+    public double getP50Hours() {
+        return p50Hours;
+    }
+
+    public void setP50Hours(double p50Hours) {
+        this.p50Hours = p50Hours;
+    }
+
+    public double getP90Hours() {
+        return p90Hours;
+    }
+
+    public void setP90Hours(double p90Hours) {
+        this.p90Hours = p90Hours;
+    }
+
+    public double getP99Hours() {
+        return p99Hours;
+    }
+
+    public void setP99Hours(double p99Hours) {
+        this.p99Hours = p99Hours;
+    }
+
+    public double getMaxHours() {
+        return maxHours;
+    }
+
+    public void setMaxHours(double maxHours) {
+        this.maxHours = maxHours;
+    }
+}
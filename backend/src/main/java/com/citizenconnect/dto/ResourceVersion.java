@@ -0,0 +1,46 @@
+package com.citizenconnect.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for a conditional GET: a weak ETag over everything the response
+ * is built from, and optionally the time of its last change.
+ */
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param lastModified newest change, or null when it cannot be known
+     *                     exactly (a deletion does not move a collection's
+     *                     newest timestamp, for example)
+     * @param parts        every value the response depends on
+     */
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        StringBuilder stamp = new StringBuilder();
+        for (Object part : parts) {
+            stamp.append(part).append('|');
+        }
+        String hash = DigestUtils.md5DigestAsHex(stamp.toString().getBytes(StandardCharsets.UTF_8));
+        long millis = lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ResourceVersion("W/\"" + hash + "\"", millis);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    // Epoch millis, or -1 when not known
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,75 @@
+package com.citizenconnect.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment of an archived issue, moved together with it by the archiver.
+ * Refers to its issue by id only, since archived issues are not entities of
+ * the live issues table.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_comments")
+public class ArchivedComment {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    private boolean flagged;
+
+    private String flagReason;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "issue_id", nullable = false)
+    private Long issueId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedComment() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public boolean isFlagged() {
+        return flagged;
+    }
+
+    public String getFlagReason() {
+        return flagReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
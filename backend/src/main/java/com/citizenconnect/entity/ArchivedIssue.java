@@ -0,0 +1,158 @@
+package com.citizenconnect.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resolved or closed issue moved out of the live issues table by the
+ * archiver. Keeps the original id, so links and bookmarks to it stay valid.
+ * Rows are only ever written by the archiver's INSERT ... SELECT.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_issues")
+public class ArchivedIssue {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private String category;
+
+    private String location;
+    private Double latitude;
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
+    private String attachmentFileName;
+    private String attachmentUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IssueStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String response;
+
+    @Column(columnDefinition = "TEXT")
+    private String resolutionNotes;
+
+    private LocalDateTime resolvedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "citizen_id", nullable = false)
+    private User citizen;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_politician_id")
+    private User assignedPolitician;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedIssue() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public String getAttachmentFileName() {
+        return attachmentFileName;
+    }
+
+    public String getAttachmentUrl() {
+        return attachmentUrl;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public String getResolutionNotes() {
+        return resolutionNotes;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+
+    public User getCitizen() {
+        return citizen;
+    }
+
+    public User getAssignedPolitician() {
+        return assignedPolitician;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.citizenconnect.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -29,6 +30,13 @@ public class Issue {
     private String category;
 
     private String location;
+    private Double latitude;
+    private Double longitude;
+
+    // Derived from latitude/longitude on create; prefix scans on it back the map queries
+    @Column(length = 12)
+    private String geohash;
+
     private String attachmentFileName;
     private String attachmentUrl;
 
@@ -51,6 +59,15 @@ public class Issue {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Maintained only by atomic UPDATEs from CommentService, never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private int commentCount;
+
+    // Set when a moderator links this issue to the original report; always points at a root
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "citizen_id", nullable = false)
     private User citizen;
@@ -106,6 +123,30 @@ public class Issue {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
     public String getAttachmentFileName() {
         return attachmentFileName;
     }
@@ -170,6 +211,18 @@ public class Issue {
         this.updatedAt = updatedAt;
     }
 
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+
+    public void setDuplicateOfId(Long duplicateOfId) {
+        this.duplicateOfId = duplicateOfId;
+    }
+
     public User getCitizen() {
         return citizen;
     }
@@ -2,10 +2,26 @@ package com.citizenconnect.entity;
 
 /**
  * Enum representing the status of an issue.
+ *
+ * Transitions: OPEN, IN_PROGRESS and RESOLVED may move to any other status;
+ * a CLOSED issue can only be reopened (back to OPEN). Staying in the same
+ * status is not a transition and is treated as a no-op by callers.
  */
 public enum IssueStatus {
     OPEN,
     IN_PROGRESS,
     RESOLVED,
-    CLOSED
+    CLOSED;
+
+    public boolean canTransitionTo(IssueStatus next) {
+        if (next == null || next == this) {
+            return false;
+        }
+        return this != CLOSED || next == OPEN;
+    }
+
+    // RESOLVED and CLOSED carry a resolvedAt timestamp
+    public boolean isFinished() {
+        return this == RESOLVED || this == CLOSED;
+    }
 }
@@ -0,0 +1,11 @@
+package com.citizenconnect.entity;
+
+/**
+ * Delivery state of a notification outbox row.
+ */
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,59 @@
+package com.citizenconnect.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Logout of a token that has no jti (issued before jtis were added): every
+ * such token of the subject issued at or before revokedBefore is rejected.
+ * The row is purged once all of those tokens would have expired anyway.
+ */
+@Entity
+@Table(name = "token_cutoffs")
+public class TokenCutoff {
+
+    // Token subject (the user's email)
+    @Id
+    private String subject;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedBefore;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public TokenCutoff() {
+    }
+
+    public TokenCutoff(String subject, LocalDateTime revokedBefore, LocalDateTime expiresAt) {
+        this.subject = subject;
+        this.revokedBefore = revokedBefore;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public LocalDateTime getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(LocalDateTime revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.citizenconnect.event;
+
+/**
+ * Published by CommentService when a comment is added to or removed from an
+ * issue, for in-memory views that weigh comment activity.
+ */
+public class CommentEvent {
+
+    private final Long issueId;
+    private final int delta;
+
+    public CommentEvent(Long issueId, int delta) {
+        this.issueId = issueId;
+        this.delta = delta;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+}
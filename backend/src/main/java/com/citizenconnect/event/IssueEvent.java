@@ -0,0 +1,166 @@
+package com.citizenconnect.event;
+
+import com.citizenconnect.dto.IssueSnapshot;
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by IssueService whenever an issue is created, changed or removed,
+ * and by IssueArchiver when one is moved to the archive. Carries an immutable
+ * snapshot so in-memory indexes can be maintained from after-commit listeners
+ * without touching the persistence context.
+ */
+public class IssueEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // Moved to the archive: gone from the live table but still counted in totals
+        ARCHIVED
+    }
+
+    private final Type type;
+    private final Long issueId;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final IssueStatus status;
+    private final IssueStatus previousStatus;
+    private final Long citizenId;
+    private final Long politicianId;
+    private final Long previousPoliticianId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime resolvedAt;
+    private final int commentCount;
+    // Only resolved-issue updates need it; resolving it may lazy-load a user
+    private final String constituency;
+
+    private IssueEvent(Type type, Issue issue, IssueStatus previousStatus, Long previousPoliticianId) {
+        this.type = type;
+        this.issueId = issue.getId();
+        this.title = issue.getTitle();
+        this.description = issue.getDescription();
+        this.category = issue.getCategory();
+        this.status = issue.getStatus();
+        this.previousStatus = previousStatus;
+        this.citizenId = issue.getCitizen() != null ? issue.getCitizen().getId() : null;
+        this.politicianId = issue.getAssignedPolitician() != null ? issue.getAssignedPolitician().getId() : null;
+        this.previousPoliticianId = previousPoliticianId;
+        this.createdAt = issue.getCreatedAt();
+        this.resolvedAt = issue.getResolvedAt();
+        this.commentCount = issue.getCommentCount();
+        this.constituency = type == Type.UPDATED && resolvedAt != null ? constituencyOf(issue) : null;
+    }
+
+    // Change applied without loading the entity; the description is only read for CREATED
+    private IssueEvent(IssueSnapshot before, IssueStatus status, Long politicianId, LocalDateTime resolvedAt) {
+        this.type = Type.UPDATED;
+        this.issueId = before.getId();
+        this.title = before.getTitle();
+        this.description = null;
+        this.category = before.getCategory();
+        this.status = status;
+        this.previousStatus = before.getStatus();
+        this.citizenId = before.getCitizenId();
+        this.politicianId = politicianId;
+        this.previousPoliticianId = before.getPoliticianId();
+        this.createdAt = before.getCreatedAt();
+        this.resolvedAt = resolvedAt;
+        this.commentCount = before.getCommentCount();
+        this.constituency = resolvedAt != null ? before.getConstituency() : null;
+    }
+
+    private static String constituencyOf(Issue issue) {
+        if (issue.getAssignedPolitician() != null && issue.getAssignedPolitician().getConstituency() != null) {
+            return issue.getAssignedPolitician().getConstituency();
+        }
+        return issue.getCitizen() != null ? issue.getCitizen().getConstituency() : null;
+    }
+
+    public static IssueEvent created(Issue issue) {
+        return new IssueEvent(Type.CREATED, issue, null, null);
+    }
+
+    public static IssueEvent updated(Issue issue, IssueStatus previousStatus, Long previousPoliticianId) {
+        return new IssueEvent(Type.UPDATED, issue, previousStatus, previousPoliticianId);
+    }
+
+    public static IssueEvent transitioned(IssueSnapshot before, IssueStatus status, LocalDateTime resolvedAt) {
+        return new IssueEvent(before, status, before.getPoliticianId(), resolvedAt);
+    }
+
+    public static IssueEvent reassigned(IssueSnapshot before, Long politicianId, IssueStatus status) {
+        return new IssueEvent(before, status, politicianId, before.getResolvedAt());
+    }
+
+    public static IssueEvent deleted(Issue issue) {
+        return new IssueEvent(Type.DELETED, issue, issue.getStatus(), null);
+    }
+
+    public static IssueEvent archived(Issue issue) {
+        return new IssueEvent(Type.ARCHIVED, issue, issue.getStatus(), null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public IssueStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Long getCitizenId() {
+        return citizenId;
+    }
+
+    public Long getPoliticianId() {
+        return politicianId;
+    }
+
+    public Long getPreviousPoliticianId() {
+        return previousPoliticianId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public String getConstituency() {
+        return constituency;
+    }
+
+    public boolean isStatusChanged() {
+        return previousStatus != status;
+    }
+}
@@ -0,0 +1,11 @@
+package com.citizenconnect.exception;
+
+/**
+ * The request does not fit the resource's current state, e.g. an illegal
+ * status transition or a status changed concurrently by someone else.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
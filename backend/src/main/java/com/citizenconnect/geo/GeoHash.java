@@ -0,0 +1,101 @@
+package com.citizenconnect.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Geohash encoding and cell covering. A geohash interleaves longitude and
+ * latitude bits into a base-32 string, so every prefix is a rectangular cell
+ * and all points inside a cell share that prefix. That turns "points in this
+ * area" into a handful of prefix range scans on an ordinary string index.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lngBit = true;
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lngBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLng = mid;
+                } else {
+                    value <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lngBit = !lngBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * The cells, at the finest precision that needs no more than
+     * {@code maxCells} of them, that together cover the bounding box. Callers
+     * still filter on exact coordinates since the cells overhang the box.
+     */
+    public static List<String> cover(double minLat, double minLng, double maxLat, double maxLng, int maxCells) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            if (cellCount(minLat, minLng, maxLat, maxLng, precision) <= maxCells) {
+                return cells(minLat, minLng, maxLat, maxLng, precision);
+            }
+        }
+        return cells(minLat, minLng, maxLat, maxLng, 1);
+    }
+
+    private static long cellCount(double minLat, double minLng, double maxLat, double maxLng, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long rows = (long) Math.floor((maxLat + 90) / height) - (long) Math.floor((minLat + 90) / height) + 1;
+        long columns = (long) Math.floor((maxLng + 180) / width) - (long) Math.floor((minLng + 180) / width) + 1;
+        return rows * columns;
+    }
+
+    private static List<String> cells(double minLat, double minLng, double maxLat, double maxLng, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        // Sample each grid cell at its centre, clamped so the edge rows and columns stay inside the world
+        TreeSet<String> cells = new TreeSet<>();
+        for (double lat = Math.floor((minLat + 90) / height) * height - 90; lat <= maxLat; lat += height) {
+            for (double lng = Math.floor((minLng + 180) / width) * width - 180; lng <= maxLng; lng += width) {
+                cells.add(encode(Math.min(lat + height / 2, 90), Math.min(lng + width / 2, 180), precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+}
@@ -0,0 +1,201 @@
+package com.citizenconnect.geo;
+
+import com.citizenconnect.dto.GeoClusterDTO;
+import com.citizenconnect.dto.IssueDTO;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.repository.IssueRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Map queries over issue coordinates. The area is covered by a few geohash
+ * cells, each becoming a prefix LIKE on the indexed geohash column, so the
+ * database only reads rows near the area instead of the whole table; exact
+ * coordinate bounds then trim the overhang of the cells.
+ */
+@Service
+@Transactional(readOnly = true)
+public class IssueGeoService {
+
+    private static final double KM_PER_DEGREE = Math.PI * 6371.0 / 180;
+    private static final int MAX_ZOOM = 22;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${geo.max-cells:16}")
+    private int maxCells;
+
+    @Value("${geo.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    /**
+     * Issues inside a bounding box, newest first.
+     */
+    public Page<IssueDTO> findWithin(double minLat, double minLng, double maxLat, double maxLng, IssueStatus status,
+            Pageable pageable) {
+        Area area = Area.box(minLat, minLng, maxLat, maxLng, maxCells);
+        String where = area.where(status);
+        return page(where, "i.createdAt DESC, i.id DESC", area, status, pageable);
+    }
+
+    /**
+     * Issues within {@code radiusKm} of a point, nearest first. Distances use
+     * an equirectangular approximation, accurate to well under 1% at the
+     * radii allowed here.
+     */
+    public Page<IssueDTO> findNear(double latitude, double longitude, double radiusKm, IssueStatus status,
+            Pageable pageable) {
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new BadRequestException("radiusKm must be between 0 and " + maxRadiusKm);
+        }
+        validatePoint(latitude, longitude);
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lngScale = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lngDelta = Math.min(latDelta / lngScale, 180);
+        Area area = Area.box(Math.max(latitude - latDelta, -90), Math.max(longitude - lngDelta, -180),
+                Math.min(latitude + latDelta, 90), Math.min(longitude + lngDelta, 180), maxCells);
+
+        String distance = "((i.latitude - :lat) * (i.latitude - :lat) "
+                + "+ (i.longitude - :lng) * (i.longitude - :lng) * :lngScale2)";
+        String where = area.where(status) + " AND " + distance + " <= :radius2";
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("lat", latitude);
+        extra.put("lng", longitude);
+        extra.put("lngScale2", lngScale * lngScale);
+        extra.put("radius2", latDelta * latDelta);
+        return page(where, distance + " ASC, i.id DESC", area, status, pageable, extra);
+    }
+
+    /**
+     * Issue counts inside a bounding box grouped into geohash cells sized for
+     * the map zoom level, roughly one cell per quarter of a 256px map tile.
+     */
+    public List<GeoClusterDTO> clusters(double minLat, double minLng, double maxLat, double maxLng, int zoom,
+            IssueStatus status) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new BadRequestException("zoom must be between 0 and " + MAX_ZOOM);
+        }
+        Area area = Area.box(minLat, minLng, maxLat, maxLng, maxCells);
+        int precision = clusterPrecision(zoom);
+        String cell = "SUBSTRING(i.geohash, 1, " + precision + ")";
+        TypedQuery<Object[]> query = entityManager.createQuery("SELECT " + cell + ", COUNT(i), AVG(i.latitude), "
+                + "AVG(i.longitude) FROM Issue i WHERE " + area.where(status) + " GROUP BY " + cell, Object[].class);
+        area.bind(query, status);
+        return query.getResultList().stream()
+                .map(row -> new GeoClusterDTO((String) row[0], (Long) row[1], (Double) row[2], (Double) row[3]))
+                .collect(Collectors.toList());
+    }
+
+    private static int clusterPrecision(int zoom) {
+        double target = 360.0 / (1L << (zoom + 2));
+        for (int precision = 1; precision < GeoHash.MAX_PRECISION; precision++) {
+            if (GeoHash.cellWidth(precision) <= target) {
+                return precision;
+            }
+        }
+        return GeoHash.MAX_PRECISION;
+    }
+
+    private Page<IssueDTO> page(String where, String orderBy, Area area, IssueStatus status, Pageable pageable) {
+        return page(where, orderBy, area, status, pageable, Map.of());
+    }
+
+    private Page<IssueDTO> page(String where, String orderBy, Area area, IssueStatus status, Pageable pageable,
+            Map<String, Object> extra) {
+        TypedQuery<IssueDTO> query = entityManager.createQuery(
+                IssueRepository.DTO_SELECT + "WHERE " + where + " ORDER BY " + orderBy, IssueDTO.class);
+        area.bind(query, status);
+        extra.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<IssueDTO> content = query.getResultList();
+
+        // The count only runs when the page is full or not the first one
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(i) FROM Issue i WHERE " + where,
+                    Long.class);
+            area.bind(count, status);
+            extra.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    private static void validatePoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Coordinates are out of range");
+        }
+    }
+
+    /**
+     * A bounding box with its geohash cover, rendered as a JPQL predicate.
+     */
+    private static final class Area {
+        private final double minLat;
+        private final double minLng;
+        private final double maxLat;
+        private final double maxLng;
+        private final List<String> cells;
+
+        private Area(double minLat, double minLng, double maxLat, double maxLng, List<String> cells) {
+            this.minLat = minLat;
+            this.minLng = minLng;
+            this.maxLat = maxLat;
+            this.maxLng = maxLng;
+            this.cells = cells;
+        }
+
+        private static Area box(double minLat, double minLng, double maxLat, double maxLng, int maxCells) {
+            validatePoint(minLat, minLng);
+            validatePoint(maxLat, maxLng);
+            if (minLat > maxLat) {
+                throw new BadRequestException("minLat must not be greater than maxLat");
+            }
+            if (minLng > maxLng) {
+                throw new BadRequestException("Bounding boxes crossing the antimeridian are not supported");
+            }
+            return new Area(minLat, minLng, maxLat, maxLng, GeoHash.cover(minLat, minLng, maxLat, maxLng, maxCells));
+        }
+
+        private String where(IssueStatus status) {
+            StringBuilder where = new StringBuilder("(");
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) {
+                    where.append(" OR ");
+                }
+                where.append("i.geohash LIKE :cell").append(i);
+            }
+            where.append(") AND i.latitude BETWEEN :minLat AND :maxLat AND i.longitude BETWEEN :minLng AND :maxLng");
+            if (status != null) {
+                where.append(" AND i.status = :status");
+            }
+            return where.toString();
+        }
+
+        private void bind(TypedQuery<?> query, IssueStatus status) {
+            for (int i = 0; i < cells.size(); i++) {
+                query.setParameter("cell" + i, cells.get(i) + "%");
+            }
+            query.setParameter("minLat", minLat);
+            query.setParameter("maxLat", maxLat);
+            query.setParameter("minLng", minLng);
+            query.setParameter("maxLng", maxLng);
+            if (status != null) {
+                query.setParameter("status", status);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.citizenconnect.metrics;
+
+import java.util.Map;
+
+/**
+ * Implemented by in-process components that expose operational counters
+ * (cache hit ratios, queue depths, ...) through the admin metrics endpoint.
+ */
+public interface MetricsSource {
+
+    /**
+     * Name under which the metrics are grouped in the response.
+     */
+    String getMetricsName();
+
+    /**
+     * Point-in-time snapshot of the component's counters.
+     */
+    Map<String, Number> getMetrics();
+}
@@ -0,0 +1,92 @@
+package com.citizenconnect.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how many SQL statements each endpoint issues per request, keyed by
+ * method and mapped path pattern. Requests that go async (login, export) run
+ * their queries on another thread and are not counted.
+ */
+@Component
+public class StatementCountInterceptor implements AsyncHandlerInterceptor, MetricsSource {
+
+    private static final String SKIP_ATTRIBUTE = StatementCountInterceptor.class.getName() + ".skip";
+
+    private final StatementCounter statementCounter;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public StatementCountInterceptor(StatementCounter statementCounter) {
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SKIP_ATTRIBUTE) == null) {
+            statementCounter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        request.setAttribute(SKIP_ATTRIBUTE, Boolean.TRUE);
+        statementCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(SKIP_ATTRIBUTE) != null) {
+            return;
+        }
+        int statements = statementCounter.end();
+        if (statements < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String key = request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+        endpoints.computeIfAbsent(key, k -> new EndpointStats()).record(statements);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "sqlStatementsPerEndpoint";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            long requests = stats.requests.sum();
+            long statements = stats.statements.sum();
+            metrics.put(endpoint + ".requests", requests);
+            metrics.put(endpoint + ".avgStatements", requests == 0 ? 0 : (double) statements / requests);
+            metrics.put(endpoint + ".maxStatements", stats.maxStatements.get());
+        });
+        return metrics;
+    }
+
+    private static final class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+        private void record(int count) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulate(count);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.citizenconnect.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on
+ * the current thread while a count is open. Registered with the session
+ * factory in {@link com.citizenconnect.config.MetricsConfig}.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    public void begin() {
+        current.set(new int[1]);
+    }
+
+    /**
+     * Closes the count opened by {@link #begin()} and returns it, or -1 when
+     * no count was open on this thread.
+     */
+    public int end() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : -1;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,98 @@
+package com.citizenconnect.notification;
+
+/**
+ * Consecutive-failure circuit breaker. After {@code failureThreshold}
+ * failures in a row it opens and refuses calls for {@code openMillis}; then
+ * a single probe call is let through (half-open), which either closes the
+ * circuit or opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long opens;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether a call may go ahead now. In the half-open state only the first
+     * caller gets through; it must report back with one of the record methods.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * How many calls a caller may plan for: all of them when closed, one
+     * probe once the open period has passed, otherwise none.
+     */
+    public synchronized int permits(int wanted) {
+        switch (state) {
+            case CLOSED:
+                return wanted;
+            case OPEN:
+                return System.currentTimeMillis() - openedAt >= openMillis ? 1 : 0;
+            default:
+                return probeInFlight ? 0 : 1;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            opens++;
+        }
+    }
+
+    /**
+     * The acquired call ended without telling anything about the remote side.
+     */
+    public synchronized void recordIgnored() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getOpens() {
+        return opens;
+    }
+}
@@ -0,0 +1,59 @@
+package com.citizenconnect.notification;
+
+import com.citizenconnect.entity.OutboxMessage;
+import com.citizenconnect.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records notification emails in the outbox table. Called from inside the
+ * business transaction, so a message exists exactly when the change that
+ * triggered it commits; {@link OutboxDispatcher} delivers it afterwards.
+ */
+@Service
+@Transactional
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    public NotificationOutbox(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    public void welcome(String to, String name) {
+        enqueue("WELCOME", to, "Welcome to CitizenConnect!",
+                "Hello " + name + ",\n\nWelcome to CitizenConnect!\n\nBest regards,\nCitizenConnect Team");
+    }
+
+    public void issueAssigned(String to, String issueTitle) {
+        enqueue("ISSUE_ASSIGNED", to, "New Issue Assigned: " + issueTitle,
+                "A new issue has been assigned to you: " + issueTitle);
+    }
+
+    public void issueResponse(String to, String issueTitle, String response) {
+        enqueue("ISSUE_RESPONSE", to, "Response to Your Issue: " + issueTitle,
+                "Your issue has received a response:\n\n" + response);
+    }
+
+    /**
+     * One digest for several issues assigned to the same politician at once.
+     */
+    public void bulkAssigned(String to, List<String> issueTitles) {
+        if (issueTitles.size() == 1) {
+            issueAssigned(to, issueTitles.get(0));
+            return;
+        }
+        enqueue("BULK_ASSIGNED", to, issueTitles.size() + " New Issues Assigned",
+                "The following issues have been assigned to you:\n\n- " + String.join("\n- ", issueTitles));
+    }
+
+    private void enqueue(String type, String to, String subject, String body) {
+        outboxMessageRepository.save(new OutboxMessage(type, to, truncate(subject, 255), body));
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+}
@@ -0,0 +1,267 @@
+package com.citizenconnect.notification;
+
+import com.citizenconnect.entity.OutboxMessage;
+import com.citizenconnect.entity.OutboxStatus;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.OutboxMessageRepository;
+import com.citizenconnect.service.EmailService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox. Each poll leases a batch of due rows with
+ * SELECT ... FOR UPDATE SKIP LOCKED, commits the lease, and only then talks
+ * to SMTP on a small dedicated pool, so no database connection or request
+ * thread waits on mail delivery. Failures are retried with exponential
+ * backoff and jitter; repeated transient failures open a circuit breaker that
+ * pauses delivery until a probe message gets through again.
+ */
+@Component
+public class OutboxDispatcher implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transaction;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService senders;
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff-initial-seconds:30}")
+    private long backoffInitialSeconds;
+
+    @Value("${outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder deliveryMillis = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository, EmailService emailService,
+            PlatformTransactionManager transactionManager,
+            @Value("${outbox.concurrency:4}") int concurrency,
+            @Value("${outbox.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${outbox.circuit-breaker.open-seconds:60}") long openSeconds) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.emailService = emailService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openSeconds * 1000);
+        this.senders = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Delivers due messages until the outbox is drained, the breaker trips, a
+     * batch comes back short or the per-poll cap is reached (the scheduler
+     * pool is shared with other jobs).
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        for (int round = 0; round < maxBatchesPerPoll; round++) {
+            int limit = circuitBreaker.permits(batchSize);
+            if (limit == 0) {
+                return;
+            }
+            List<OutboxMessage> batch = lease(limit);
+            if (batch.isEmpty()) {
+                return;
+            }
+            batches.increment();
+            deliver(batch);
+            if (batch.size() < limit) {
+                return;
+            }
+        }
+    }
+
+    private List<OutboxMessage> lease(int limit) {
+        return transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> due = outboxMessageRepository.lockDue(now, limit);
+            if (!due.isEmpty()) {
+                outboxMessageRepository.lease(due.stream().map(OutboxMessage::getId).collect(Collectors.toList()),
+                        OutboxStatus.SENDING, now.plusSeconds(leaseSeconds));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(List<OutboxMessage> batch) {
+        List<Future<?>> deliveries = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            deliveries.add(senders.submit(() -> deliver(message)));
+        }
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Outbox delivery task failed: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void deliver(OutboxMessage message) {
+        if (!circuitBreaker.tryAcquire()) {
+            // Tripped by another message of this batch; hand the row straight back
+            inTransaction(() -> outboxMessageRepository.release(message.getId(), OutboxStatus.PENDING,
+                    LocalDateTime.now()));
+            released.increment();
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            emailService.send(message.getRecipient(), message.getSubject(), message.getBody());
+        } catch (MailParseException | MailPreparationException e) {
+            // The message itself is broken; retrying will not help and SMTP is not to blame
+            circuitBreaker.recordIgnored();
+            markFailed(message, e, true);
+            return;
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            markFailed(message, e, false);
+            return;
+        }
+        circuitBreaker.recordSuccess();
+        sent.increment();
+        deliveryMillis.add(System.currentTimeMillis() - started);
+        if (message.getCreatedAt() != null) {
+            lastLagMillis.set(Duration.between(message.getCreatedAt(), LocalDateTime.now()).toMillis());
+        }
+        inTransaction(() -> outboxMessageRepository.markSent(message.getId(), OutboxStatus.SENT, LocalDateTime.now()));
+    }
+
+    private void markFailed(OutboxMessage message, RuntimeException e, boolean permanent) {
+        int attempts = message.getAttempts() + 1;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        String lastError = error;
+        if (permanent || attempts >= maxAttempts) {
+            inTransaction(() -> outboxMessageRepository.markFailed(message.getId(), OutboxStatus.FAILED,
+                    LocalDateTime.now(), lastError));
+            failed.increment();
+            log.error("Giving up on {} notification {} to {} after {} attempts: {}", message.getType(),
+                    message.getId(), message.getRecipient(), attempts, lastError);
+        } else {
+            inTransaction(() -> outboxMessageRepository.markFailed(message.getId(), OutboxStatus.PENDING,
+                    LocalDateTime.now().plus(backoff(attempts)), lastError));
+            retried.increment();
+            log.warn("Delivery of {} notification {} failed (attempt {}), will retry: {}", message.getType(),
+                    message.getId(), attempts, lastError);
+        }
+    }
+
+    /**
+     * Exponential backoff from the initial delay, capped, with +/-20% jitter
+     * so messages that failed together do not retry together.
+     */
+    private Duration backoff(int attempts) {
+        long seconds = backoffInitialSeconds << Math.min(attempts - 1, 30);
+        seconds = Math.min(seconds, backoffMaxSeconds);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (seconds * 1000 * jitter));
+    }
+
+    private void inTransaction(Runnable update) {
+        transaction.executeWithoutResult(status -> update.run());
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        int purged = transaction.execute(status -> outboxMessageRepository.deleteSentBefore(OutboxStatus.SENT,
+                LocalDateTime.now().minusDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} delivered outbox messages", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Leased rows are picked up again once their lease runs out
+        senders.shutdownNow();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "notificationOutbox";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        LocalDateTime oldest = outboxMessageRepository.findOldestCreatedAt(
+                EnumSet.of(OutboxStatus.PENDING, OutboxStatus.SENDING));
+        metrics.put("pending", outboxMessageRepository.countByStatus(OutboxStatus.PENDING));
+        metrics.put("failedRows", outboxMessageRepository.countByStatus(OutboxStatus.FAILED));
+        metrics.put("oldestPendingAgeSeconds",
+                oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
+        metrics.put("lastDeliveryLagMillis", lastLagMillis.get());
+        long sentCount = sent.sum();
+        metrics.put("sent", sentCount);
+        metrics.put("retried", retried.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("released", released.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("avgDeliveryMillis", sentCount > 0 ? deliveryMillis.sum() / sentCount : 0);
+        metrics.put("circuitState", circuitBreaker.getState().ordinal());
+        metrics.put("circuitOpens", circuitBreaker.getOpens());
+        return metrics;
+    }
+}
@@ -0,0 +1,54 @@
+package com.citizenconnect.repository;
+
+import com.citizenconnect.dto.CommentDTO;
+import com.citizenconnect.entity.ArchivedComment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for comments of archived issues.
+ */
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+
+    // Same projection as CommentRepository.DTO_SELECT, over the archive
+    String DTO_SELECT = "SELECT new com.citizenconnect.dto.CommentDTO(c.id, c.content, c.flagged, c.flagReason, "
+            + "c.createdAt, c.issueId, u.id, u.fullName, u.role) FROM ArchivedComment c JOIN c.user u ";
+
+    @Query(DTO_SELECT + "WHERE c.issueId = :issueId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findDtosByIssue(@Param("issueId") Long issueId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.issueId = :issueId AND " + CommentRepository.AFTER_CURSOR
+            + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findDtoPageAfter(@Param("issueId") Long issueId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.issueId = :issueId AND " + CommentRepository.BEFORE_CURSOR
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findDtoPageBefore(@Param("issueId") Long issueId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Same lateral lookup as CommentRepository.findLatestIdsByIssues; live issues are not in archived_issues
+    @Query(value = "SELECT latest.id FROM archived_issues i JOIN LATERAL (SELECT c.id FROM archived_comments c "
+            + "WHERE c.issue_id = i.id ORDER BY c.created_at DESC, c.id DESC LIMIT :limit) latest "
+            + "WHERE i.id IN (:issueIds)", nativeQuery = true)
+    List<Long> findLatestIdsByIssues(@Param("issueIds") Collection<Long> issueIds, @Param("limit") int limit);
+
+    @Query(DTO_SELECT + "WHERE c.id IN :ids ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findDtosByIdsNewestFirst(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO archived_comments (id, content, flagged, flag_reason, created_at, issue_id, user_id, "
+            + "archived_at) "
+            + "SELECT id, content, flagged, flag_reason, created_at, issue_id, user_id, :now "
+            + "FROM comments WHERE issue_id IN (:issueIds)", nativeQuery = true)
+    int copyFromLive(@Param("issueIds") Collection<Long> issueIds, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,98 @@
+package com.citizenconnect.repository;
+
+import com.citizenconnect.dto.IssueDTO;
+import com.citizenconnect.entity.ArchivedIssue;
+import com.citizenconnect.entity.IssueStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository for issues moved out of the live table. Read only by explicit
+ * history queries and by fallbacks when an issue is not found live.
+ */
+@Repository
+public interface ArchivedIssueRepository extends JpaRepository<ArchivedIssue, Long> {
+
+    // Same projection as IssueRepository.DTO_SELECT, over the archive
+    String DTO_SELECT = "SELECT new com.citizenconnect.dto.IssueDTO(i.id, i.title, i.description, i.category, "
+            + "i.location, i.latitude, i.longitude, i.attachmentFileName, i.attachmentUrl, i.status, i.response, i.resolutionNotes, "
+            + "i.resolvedAt, i.createdAt, c.id, c.fullName, p.id, p.fullName, i.commentCount, "
+            + "i.duplicateOfId) "
+            + "FROM ArchivedIssue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p ";
+
+    @Query(DTO_SELECT + "WHERE i.id = :id")
+    Optional<IssueDTO> findDtoById(@Param("id") Long id);
+
+    // Archived rows never change, but the names of their users can
+    @Query("SELECT i.archivedAt, i.commentCount, c.updatedAt, p.updatedAt "
+            + "FROM ArchivedIssue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p WHERE i.id = :id")
+    List<Object[]> findVersionStamp(@Param("id") Long id);
+
+    // Keyset pages on (createdAt, id), newest first, as for live issues
+    @Query(DTO_SELECT + "WHERE " + IssueRepository.BEFORE_CURSOR + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.id = :citizenId AND " + IssueRepository.BEFORE_CURSOR
+            + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageByCitizenBefore(@Param("citizenId") Long citizenId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE p.id = :politicianId AND " + IssueRepository.BEFORE_CURSOR
+            + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageByPoliticianBefore(@Param("politicianId") Long politicianId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT i.status, COUNT(i) FROM ArchivedIssue i GROUP BY i.status")
+    List<Object[]> countGroupByStatus();
+
+    @Query("SELECT COUNT(i) FROM ArchivedIssue i WHERE i.status = :status")
+    Long countByStatus(@Param("status") IssueStatus status);
+
+    // Resolution-time backfill over the archive, same shape as IssueRepository.findResolutionsInIdRange
+    @Query("SELECT i.category, p.id, COALESCE(p.constituency, c.constituency), i.createdAt, i.resolvedAt "
+            + "FROM ArchivedIssue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p "
+            + "WHERE i.resolvedAt IS NOT NULL AND i.resolvedAt < :cutoff AND i.id BETWEEN :fromId AND :toId")
+    List<Object[]> findResolutionsInIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    // Export over the archive, same filters and streaming hints as IssueRepository.streamForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM ArchivedIssue i JOIN FETCH i.citizen LEFT JOIN FETCH i.assignedPolitician "
+            + "WHERE (:status IS NULL OR i.status = :status) AND (:category IS NULL OR i.category = :category) "
+            + "AND (:startDate IS NULL OR i.createdAt >= :startDate) AND (:endDate IS NULL OR i.createdAt <= :endDate) "
+            + "ORDER BY i.id")
+    Stream<ArchivedIssue> streamForExport(@Param("status") IssueStatus status, @Param("category") String category,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT MAX(i.id) FROM ArchivedIssue i")
+    Long findMaxId();
+
+    // Copies live rows as they are; the caller deletes them in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO archived_issues (id, title, description, category, location, latitude, longitude, "
+            + "geohash, attachment_file_name, attachment_url, status, response, resolution_notes, resolved_at, "
+            + "created_at, updated_at, comment_count, duplicate_of_id, citizen_id, assigned_politician_id, "
+            + "archived_at) "
+            + "SELECT id, title, description, category, location, latitude, longitude, geohash, "
+            + "attachment_file_name, attachment_url, status, response, resolution_notes, resolved_at, created_at, "
+            + "updated_at, comment_count, duplicate_of_id, citizen_id, assigned_politician_id, :now "
+            + "FROM issues WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromLive(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
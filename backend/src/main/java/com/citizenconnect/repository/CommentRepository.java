@@ -1,12 +1,16 @@
 package com.citizenconnect.repository;
 
+import com.citizenconnect.dto.CommentDTO;
 import com.citizenconnect.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,16 +19,50 @@ import java.util.List;
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    // Projection that reads each comment with its author in one statement, instead of
+    // lazy-loading the user per comment
+    String DTO_SELECT = "SELECT new com.citizenconnect.dto.CommentDTO(c.id, c.content, c.flagged, c.flagReason, "
+            + "c.createdAt, c.issue.id, u.id, u.fullName, u.role) FROM Comment c JOIN c.user u ";
+
+    // Keyset predicate on (createdAt, id) for oldest-first pages; a null cursor selects the first page
+    String AFTER_CURSOR = "(:createdAt IS NULL OR c.createdAt > :createdAt "
+            + "OR (c.createdAt = :createdAt AND c.id > :id)) ";
+
+    // The same for newest-first pages. Both directions are range scans of idx_comments_issue_created,
+    // whose entries end in the primary key, so (issue_id, createdAt, id) is read in index order
+    String BEFORE_CURSOR = "(:createdAt IS NULL OR c.createdAt < :createdAt "
+            + "OR (c.createdAt = :createdAt AND c.id < :id)) ";
+
     List<Comment> findByIssueId(Long issueId);
     
-    List<Comment> findByIssueIdOrderByCreatedAtAsc(Long issueId);
-    
     List<Comment> findByUserId(Long userId);
     
     List<Comment> findByFlaggedTrue();
     
     Long countByIssueId(Long issueId);
 
+    @Query(DTO_SELECT + "WHERE c.issue.id = :issueId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findDtosByIssue(@Param("issueId") Long issueId, Pageable pageable);
+
+    // Pass a Pageable of size + 1 to detect whether another page exists
+    @Query(DTO_SELECT + "WHERE c.issue.id = :issueId AND " + AFTER_CURSOR + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentDTO> findDtoPageAfter(@Param("issueId") Long issueId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.issue.id = :issueId AND " + BEFORE_CURSOR + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findDtoPageBefore(@Param("issueId") Long issueId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable pageable);
+
+    // Ids of the latest comments of each issue: the lateral subquery reads at most :limit index entries
+    // per issue, however many comments it has, where ROW_NUMBER() would rank all of them first
+    @Query(value = "SELECT latest.id FROM issues i JOIN LATERAL (SELECT c.id FROM comments c WHERE c.issue_id = i.id "
+            + "ORDER BY c.created_at DESC, c.id DESC LIMIT :limit) latest WHERE i.id IN (:issueIds)",
+            nativeQuery = true)
+    List<Long> findLatestIdsByIssues(@Param("issueIds") Collection<Long> issueIds, @Param("limit") int limit);
+
+    @Query(DTO_SELECT + "WHERE c.id IN :ids ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findDtosByIdsNewestFirst(@Param("ids") Collection<Long> ids);
+
     @Modifying
     @Query("UPDATE Comment c SET c.flagged = true, c.flagReason = :reason WHERE c.id = :id")
     int flagComment(@Param("id") Long id, @Param("reason") String reason);
@@ -36,4 +74,8 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Modifying
     @Query("DELETE FROM Comment c WHERE c.issue.id = :issueId")
     void deleteByIssueId(@Param("issueId") Long issueId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.issue.id IN :issueIds")
+    int deleteByIssueIds(@Param("issueIds") Collection<Long> issueIds);
 }
@@ -1,17 +1,26 @@
 package com.citizenconnect.repository;
 
+import com.citizenconnect.dto.IssueDTO;
+import com.citizenconnect.dto.IssueSnapshot;
 import com.citizenconnect.entity.Issue;
 import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Issue entity with JPQL queries including sorting and paging.
@@ -19,6 +28,18 @@ import java.util.List;
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
 
+    // Projection shared by the list queries: one statement reads the issue columns plus
+    // citizen and politician names, instead of lazy-loading both users per row
+    String DTO_SELECT = "SELECT new com.citizenconnect.dto.IssueDTO(i.id, i.title, i.description, i.category, "
+            + "i.location, i.latitude, i.longitude, i.attachmentFileName, i.attachmentUrl, i.status, i.response, i.resolutionNotes, "
+            + "i.resolvedAt, i.createdAt, c.id, c.fullName, p.id, p.fullName, i.commentCount, "
+            + "i.duplicateOfId) "
+            + "FROM Issue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p ";
+
+    // Keyset predicate on (createdAt, id); a null cursor selects the first page
+    String BEFORE_CURSOR = "(:createdAt IS NULL OR i.createdAt < :createdAt "
+            + "OR (i.createdAt = :createdAt AND i.id < :id)) ";
+
     // Derived query methods
     List<Issue> findByCitizenId(Long citizenId);
 
@@ -39,12 +60,30 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     @Query("SELECT COUNT(i) FROM Issue i WHERE i.status = :status")
     Long countByStatus(@Param("status") IssueStatus status);
 
+    @Query("SELECT i.status, COUNT(i) FROM Issue i GROUP BY i.status")
+    List<Object[]> countGroupByStatus();
+
+    @Query("SELECT i.assignedPolitician.id, COUNT(i) FROM Issue i "
+            + "WHERE i.assignedPolitician IS NOT NULL AND i.status IN :statuses GROUP BY i.assignedPolitician.id")
+    List<Object[]> countActiveByPolitician(@Param("statuses") Collection<IssueStatus> statuses);
+
+    @Query("SELECT i.assignedPolitician.id, i.category, COUNT(i) FROM Issue i "
+            + "WHERE i.assignedPolitician IS NOT NULL GROUP BY i.assignedPolitician.id, i.category")
+    List<Object[]> countAssignedByPoliticianAndCategory();
+
     @Query("SELECT i.category, COUNT(i) FROM Issue i GROUP BY i.category")
     List<Object[]> countByCategory();
 
     @Query("SELECT AVG(TIMESTAMPDIFF(HOUR, i.createdAt, i.resolvedAt)) FROM Issue i WHERE i.status = 'RESOLVED'")
     Double averageResolutionTimeInHours();
 
+    // Resolution-time backfill, one id range at a time; constituency prefers the politician's
+    @Query("SELECT i.category, p.id, COALESCE(p.constituency, c.constituency), i.createdAt, i.resolvedAt "
+            + "FROM Issue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p "
+            + "WHERE i.resolvedAt IS NOT NULL AND i.resolvedAt < :cutoff AND i.id BETWEEN :fromId AND :toId")
+    List<Object[]> findResolutionsInIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId,
+            @Param("cutoff") LocalDateTime cutoff);
+
     // JPQL with sorting
     @Query("SELECT i FROM Issue i ORDER BY i.createdAt DESC")
     List<Issue> findAllOrderByCreatedAtDesc();
@@ -52,23 +91,243 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     @Query("SELECT i FROM Issue i WHERE i.assignedPolitician.id = :politicianId ORDER BY i.status ASC, i.createdAt DESC")
     List<Issue> findByPoliticianOrderByPriority(@Param("politicianId") Long politicianId);
 
+    // DTO projections backing the capped list endpoints
+    @Query(DTO_SELECT + "ORDER BY i.createdAt DESC")
+    List<IssueDTO> findDtosOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.id = :citizenId ORDER BY i.createdAt DESC")
+    List<IssueDTO> findDtosByCitizen(@Param("citizenId") Long citizenId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.status = :status ORDER BY i.createdAt DESC")
+    List<IssueDTO> findDtosByStatus(@Param("status") IssueStatus status, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE p.id = :politicianId ORDER BY i.status ASC, i.createdAt DESC")
+    List<IssueDTO> findDtosByPoliticianOrderByPriority(@Param("politicianId") Long politicianId, Pageable pageable);
+
+    @Query(value = DTO_SELECT + "WHERE i.status = :status",
+            countQuery = "SELECT COUNT(i) FROM Issue i WHERE i.status = :status")
+    Page<IssueDTO> findDtosByStatusWithPaging(@Param("status") IssueStatus status, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.id = :id")
+    Optional<IssueDTO> findDtoById(@Param("id") Long id);
+
+    // Conditional GET validator inputs: the changeable parts of the issue DTO, without loading it
+    @Query("SELECT i.updatedAt, i.commentCount, c.updatedAt, p.updatedAt "
+            + "FROM Issue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p WHERE i.id = :id")
+    List<Object[]> findVersionStamp(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE i.id IN :ids")
+    List<IssueDTO> findDtosByIds(@Param("ids") List<Long> ids);
+
+    // Scoring inputs for a politician's work queue
+    @Query("SELECT i.id, i.status, i.category, i.commentCount, i.createdAt FROM Issue i "
+            + "WHERE i.assignedPolitician.id = :politicianId AND i.status IN :statuses")
+    List<Object[]> findQueueEntries(@Param("politicianId") Long politicianId,
+            @Param("statuses") Collection<IssueStatus> statuses);
+
+    // Keyset (cursor) pagination on (createdAt, id), newest first.
+    // Pass a Pageable of size + 1 to detect whether another page exists.
+    @Query(DTO_SELECT + "WHERE " + BEFORE_CURSOR + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE i.status = :status AND " + BEFORE_CURSOR + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageByStatusBefore(@Param("status") IssueStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE c.id = :citizenId AND " + BEFORE_CURSOR + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageByCitizenBefore(@Param("citizenId") Long citizenId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE p.id = :politicianId AND " + BEFORE_CURSOR + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<IssueDTO> findDtoPageByPoliticianBefore(@Param("politicianId") Long politicianId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     // JPQL with paging
     @Query("SELECT i FROM Issue i WHERE i.status = :status")
     Page<Issue> findByStatusWithPaging(@Param("status") IssueStatus status, Pageable pageable);
 
-    // Update query
+    // What a status transition needs to know about the issue, without loading it
+    @Query("SELECT new com.citizenconnect.dto.IssueSnapshot(i.id, i.title, i.category, i.status, c.id, c.email, "
+            + "p.id, COALESCE(p.constituency, c.constituency), i.createdAt, i.resolvedAt, i.commentCount, "
+            + "i.duplicateOfId) FROM Issue i JOIN i.citizen c LEFT JOIN i.assignedPolitician p WHERE i.id = :id")
+    Optional<IssueSnapshot> findSnapshot(@Param("id") Long id);
+
+    // Compare-and-set status transitions: each applies only while the issue is still in the status the
+    // caller validated against (and, for the politician paths, still assigned to them). 0 means it lost a race.
+    @Modifying
+    @Query("UPDATE Issue i SET i.status = :status, i.updatedAt = :now WHERE i.id = :id AND i.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.status = :status, i.resolvedAt = :now, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected")
+    int compareAndSetStatusResolved(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.response = :response, i.status = :status, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected AND i.assignedPolitician.id = :politicianId")
+    int compareAndSetResponse(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("politicianId") Long politicianId, @Param("response") String response,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.resolutionNotes = :notes, i.status = :status, i.resolvedAt = :now, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected AND i.assignedPolitician.id = :politicianId")
+    int compareAndSetResolution(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("politicianId") Long politicianId, @Param("notes") String notes,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    // Set-based variants for the bulk endpoints. They bypass @UpdateTimestamp, so updatedAt is
+    // passed explicitly, and clear the persistence context so loaded copies are not flushed back.
+    @Query("SELECT i FROM Issue i JOIN FETCH i.citizen LEFT JOIN FETCH i.assignedPolitician WHERE i.id IN :ids")
+    List<Issue> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Assignment also checks the current assignee, so two concurrent reassignments cannot both apply
     @Modifying
-    @Query("UPDATE Issue i SET i.status = :status WHERE i.id = :id")
-    int updateStatus(@Param("id") Long id, @Param("status") IssueStatus status);
+    @Query("UPDATE Issue i SET i.assignedPolitician = :politician, i.status = :status, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected AND i.assignedPolitician.id = :previousPoliticianId")
+    int compareAndSetAssignee(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("previousPoliticianId") Long previousPoliticianId, @Param("politician") User politician,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.assignedPolitician = :politician, i.status = :status, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected AND i.assignedPolitician IS NULL")
+    int compareAndSetFirstAssignee(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("politician") User politician, @Param("status") IssueStatus status,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.duplicateOfId = :rootId, i.updatedAt = :now WHERE i.id = :id AND i.status = :expected")
+    int compareAndSetDuplicateOf(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("rootId") Long rootId, @Param("now") LocalDateTime now);
+
+    // Closing as a duplicate keeps any resolution notes already written
+    @Modifying
+    @Query("UPDATE Issue i SET i.duplicateOfId = :rootId, i.status = :status, i.updatedAt = :now, "
+            + "i.resolutionNotes = CASE WHEN i.resolutionNotes IS NULL OR TRIM(i.resolutionNotes) = '' "
+            + "THEN :notes ELSE i.resolutionNotes END "
+            + "WHERE i.id = :id AND i.status = :expected")
+    int compareAndSetDuplicateClosed(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("rootId") Long rootId, @Param("status") IssueStatus status, @Param("notes") String notes,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.duplicateOfId = NULL, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :expected AND i.duplicateOfId = :duplicateOfId")
+    int compareAndClearDuplicateOf(@Param("id") Long id, @Param("expected") IssueStatus expected,
+            @Param("duplicateOfId") Long duplicateOfId, @Param("now") LocalDateTime now);
+
+    // Bulk assignment is compare-and-set per (previous status, previous assignee), like compareAndSetAssignee
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.assignedPolitician = :politician, i.status = :status, i.updatedAt = :now "
+            + "WHERE i.id IN :ids AND i.status = :expected AND i.assignedPolitician.id = :previousPoliticianId")
+    int bulkAssign(@Param("ids") Collection<Long> ids, @Param("expected") IssueStatus expected,
+            @Param("previousPoliticianId") Long previousPoliticianId, @Param("politician") User politician,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.assignedPolitician = :politician, i.status = :status, i.updatedAt = :now "
+            + "WHERE i.id IN :ids AND i.status = :expected AND i.assignedPolitician IS NULL")
+    int bulkAssignUnassigned(@Param("ids") Collection<Long> ids, @Param("expected") IssueStatus expected,
+            @Param("politician") User politician, @Param("status") IssueStatus status,
+            @Param("now") LocalDateTime now);
+
+    // Bulk status changes are compare-and-set per previous status, like the single-issue transitions
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.status = :status, i.updatedAt = :now WHERE i.id IN :ids AND i.status = :expected")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids, @Param("expected") IssueStatus expected,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.status = :status, i.resolvedAt = :now, i.updatedAt = :now "
+            + "WHERE i.id IN :ids AND i.status = :expected")
+    int bulkUpdateStatusResolved(@Param("ids") Collection<Long> ids, @Param("expected") IssueStatus expected,
+            @Param("status") IssueStatus status, @Param("now") LocalDateTime now);
+
+    // After a partially applied bulk update: the rows this statement wrote carry its exact timestamp
+    @Query("SELECT i.id FROM Issue i WHERE i.id IN :ids AND i.status = :status AND i.updatedAt = :now")
+    List<Long> findIdsUpdatedAt(@Param("ids") Collection<Long> ids, @Param("status") IssueStatus status,
+            @Param("now") LocalDateTime now);
+
+    // Keeps every duplicate link pointing at a root when a root is itself linked elsewhere
+    @Modifying
+    @Query("UPDATE Issue i SET i.duplicateOfId = :rootId, i.updatedAt = :now WHERE i.duplicateOfId = :issueId")
+    int repointDuplicates(@Param("issueId") Long issueId, @Param("rootId") Long rootId,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.duplicateOfId = NULL, i.updatedAt = :now WHERE i.duplicateOfId IN :ids")
+    int clearDuplicateLinks(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Claims a chunk of issues for the archiver; rows locked by another transaction are left for the next chunk
+    @Query(value = "SELECT id FROM issues WHERE status IN (:statuses) AND resolved_at < :cutoff "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivable(@Param("statuses") Collection<String> statuses, @Param("cutoff") LocalDateTime cutoff,
+            @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Issue i WHERE i.id IN :ids")
+    int bulkDelete(@Param("ids") Collection<Long> ids);
 
     // Search query
     @Query("SELECT i FROM Issue i WHERE LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Issue> searchByKeyword(@Param("keyword") String keyword);
 
+    // Fallback for /search while the in-memory index is still loading
+    @Query(value = DTO_SELECT + "WHERE LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+            countQuery = "SELECT COUNT(i) FROM Issue i WHERE LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) "
+            + "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<IssueDTO> searchDtosByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    // Id-ordered batches of the text fields, used to (re)build the search index
+    @Query("SELECT i.id, i.title, i.description FROM Issue i WHERE i.id > :afterId ORDER BY i.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(i.id) FROM Issue i")
+    Long findMaxId();
+
     // Find issues created within date range
     @Query("SELECT i FROM Issue i WHERE i.createdAt BETWEEN :startDate AND :endDate")
     List<Issue> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
+    // Forward-only export stream with the same date-range filter, every bound optional.
+    // A fetch size of Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of
+    // buffering the whole result; must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Issue i JOIN FETCH i.citizen LEFT JOIN FETCH i.assignedPolitician "
+            + "WHERE (:status IS NULL OR i.status = :status) AND (:category IS NULL OR i.category = :category) "
+            + "AND (:startDate IS NULL OR i.createdAt >= :startDate) AND (:endDate IS NULL OR i.createdAt <= :endDate) "
+            + "ORDER BY i.id")
+    Stream<Issue> streamForExport(@Param("status") IssueStatus status, @Param("category") String category,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    // Atomic maintenance of the denormalized comment counter. The count is part of the issue
+    // representation, so updatedAt moves with it and Last-Modified stays truthful.
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = i.commentCount + 1, i.updatedAt = :now WHERE i.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = i.commentCount - 1, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.commentCount > 0")
+    int decrementCommentCount(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Repairs counter drift for one id range; returns the number of rows corrected
+    @Modifying
+    @Query(value = "UPDATE issues i LEFT JOIN (SELECT issue_id, COUNT(*) AS cnt FROM comments "
+            + "WHERE issue_id BETWEEN :fromId AND :toId GROUP BY issue_id) c ON c.issue_id = i.id "
+            + "SET i.comment_count = COALESCE(c.cnt, 0) "
+            + "WHERE i.id BETWEEN :fromId AND :toId AND i.comment_count <> COALESCE(c.cnt, 0)", nativeQuery = true)
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     // Batch comment count — avoids N+1 when mapping a list of issues to DTOs
     @Query("SELECT c.issue.id, COUNT(c) FROM Comment c WHERE c.issue.id IN :issueIds GROUP BY c.issue.id")
     List<Object[]> countCommentsByIssueIds(@Param("issueIds") List<Long> issueIds);
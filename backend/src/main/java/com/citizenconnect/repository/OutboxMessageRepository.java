@@ -0,0 +1,60 @@
+package com.citizenconnect.repository;
+
+import com.citizenconnect.entity.OutboxMessage;
+import com.citizenconnect.entity.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the notification outbox.
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Due rows, including SENDING rows whose lease ran out (their dispatcher
+     * died). Rows locked by another dispatcher are skipped rather than waited
+     * for, so several instances can drain the outbox side by side.
+     */
+    @Query(value = "SELECT * FROM notification_outbox WHERE status IN ('PENDING', 'SENDING') "
+            + "AND next_attempt_at <= :now ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :sending, m.nextAttemptAt = :leaseUntil WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("sending") OutboxStatus sending,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :sent, m.attempts = m.attempts + 1, m.sentAt = :now, "
+            + "m.lastError = NULL WHERE m.id = :id")
+    int markSent(@Param("id") Long id, @Param("sent") OutboxStatus sent, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.attempts = m.attempts + 1, "
+            + "m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") OutboxStatus status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    // Hands a leased row back without counting an attempt
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :pending, m.nextAttemptAt = :now WHERE m.id = :id")
+    int release(@Param("id") Long id, @Param("pending") OutboxStatus pending, @Param("now") LocalDateTime now);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(m.createdAt) FROM OutboxMessage m WHERE m.status IN :statuses")
+    LocalDateTime findOldestCreatedAt(@Param("statuses") Collection<OutboxStatus> statuses);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :sent AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("sent") OutboxStatus sent, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.citizenconnect.repository;
+
+import com.citizenconnect.entity.TokenCutoff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for TokenCutoff entity.
+ */
+@Repository
+public interface TokenCutoffRepository extends JpaRepository<TokenCutoff, String> {
+
+    @Query("SELECT t FROM TokenCutoff t WHERE t.expiresAt > :now")
+    List<TokenCutoff> findActive(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM TokenCutoff t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
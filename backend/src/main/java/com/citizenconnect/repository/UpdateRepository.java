@@ -37,6 +37,12 @@ public interface UpdateRepository extends JpaRepository<Update, Long> {
     @Query("SELECT u.politician.id, COUNT(u) FROM Update u WHERE u.published = true GROUP BY u.politician.id")
     List<Object[]> countUpdatesByPolitician();
 
+    // Version stamp of the published feed: the count catches deletions, the view-count sum and
+    // author timestamps cover the parts of the DTOs that change without touching updatedAt
+    @Query("SELECT COUNT(u), MAX(u.updatedAt), SUM(u.viewCount), MAX(p.updatedAt) "
+            + "FROM Update u JOIN u.politician p WHERE u.published = true")
+    List<Object[]> findPublishedVersionStamp();
+
     @Modifying
     @Query("UPDATE Update u SET u.viewCount = u.viewCount + 1 WHERE u.id = :id")
     void incrementViewCount(@Param("id") Long id);
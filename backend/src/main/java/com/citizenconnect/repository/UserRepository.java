@@ -39,6 +39,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") Role role);
 
+    // Version stamps of the politician lists; the count catches deletions and role changes away
+    @Query("SELECT COUNT(u), MAX(u.updatedAt) FROM User u WHERE u.role = :role")
+    List<Object[]> findRoleVersionStamp(@Param("role") Role role);
+
+    @Query("SELECT COUNT(u), MAX(u.updatedAt) FROM User u WHERE u.role = :role AND u.constituency = :constituency")
+    List<Object[]> findRoleVersionStamp(@Param("role") Role role, @Param("constituency") String constituency);
+
     @Query("SELECT u FROM User u WHERE LOWER(u.fullName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<User> searchByName(@Param("name") String name);
 
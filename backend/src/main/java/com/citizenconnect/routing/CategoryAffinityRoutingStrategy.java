@@ -0,0 +1,51 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prefers the politician who has handled the most issues in the same
+ * category, but only among those whose load is within a slack of the least
+ * loaded one, so specialists are not buried.
+ */
+@Component
+public class CategoryAffinityRoutingStrategy implements RoutingStrategy {
+
+    private final long loadSlack;
+
+    public CategoryAffinityRoutingStrategy(@Value("${routing.affinity.load-slack:5}") long loadSlack) {
+        this.loadSlack = loadSlack;
+    }
+
+    @Override
+    public String getName() {
+        return "category-affinity";
+    }
+
+    @Override
+    public User choose(String constituency, String category, List<User> candidates, LoadSnapshot loads) {
+        long minLoad = Long.MAX_VALUE;
+        for (User candidate : candidates) {
+            minLoad = Math.min(minLoad, loads.activeCount(candidate.getId()));
+        }
+        User best = null;
+        long bestAffinity = -1;
+        long bestLoad = Long.MAX_VALUE;
+        for (User candidate : candidates) {
+            long load = loads.activeCount(candidate.getId());
+            if (load > minLoad + loadSlack) {
+                continue;
+            }
+            long affinity = loads.categoryCount(candidate.getId());
+            if (affinity > bestAffinity || (affinity == bestAffinity && load < bestLoad)) {
+                best = candidate;
+                bestAffinity = affinity;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
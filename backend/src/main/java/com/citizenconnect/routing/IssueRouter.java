@@ -0,0 +1,127 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Routes new issues that arrive without a politician to one of the enabled
+ * politicians of the citizen's constituency, using the configured strategy.
+ */
+@Service
+public class IssueRouter implements MetricsSource {
+
+    // Decisions re-made on fresh loads before falling back to an unconditional reserve
+    private static final int RESERVE_ATTEMPTS = 8;
+
+    private final UserRepository userRepository;
+    private final PoliticianLoadTracker loadTracker;
+    private final Map<String, RoutingStrategy> strategies;
+
+    @Value("${routing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${routing.strategy:least-loaded}")
+    private String strategyName;
+
+    private RoutingStrategy strategy;
+
+    private final LongAdder routed = new LongAdder();
+    private final LongAdder noConstituency = new LongAdder();
+    private final LongAdder noCandidates = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder forcedReservations = new LongAdder();
+
+    public IssueRouter(UserRepository userRepository, PoliticianLoadTracker loadTracker,
+            List<RoutingStrategy> strategies) {
+        this.userRepository = userRepository;
+        this.loadTracker = loadTracker;
+        this.strategies = strategies.stream().collect(Collectors.toMap(RoutingStrategy::getName, Function.identity()));
+    }
+
+    @PostConstruct
+    void init() {
+        strategy = strategies.get(strategyName);
+        if (strategy == null) {
+            throw new IllegalStateException("Unknown routing.strategy '" + strategyName + "', expected one of "
+                    + strategies.keySet());
+        }
+    }
+
+    /**
+     * Picks a politician for a saved, unassigned issue and reserves the slot in
+     * the load tracker. Choosing and reserving are one step: the reservation
+     * only succeeds if the chosen politician's load is still the one the
+     * strategy saw, otherwise the choice is made again. Returns null when routing is off or nobody serves the
+     * constituency, leaving the issue for manual assignment.
+     */
+    public User route(Issue issue) {
+        if (!enabled) {
+            return null;
+        }
+        String constituency = issue.getCitizen().getConstituency();
+        if (constituency == null || constituency.isBlank()) {
+            noConstituency.increment();
+            return null;
+        }
+        List<User> candidates = userRepository.findPoliticiansByConstituency(constituency).stream()
+                .filter(User::isEnabled)
+                .sorted(Comparator.comparing(User::getId))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            noCandidates.increment();
+            return null;
+        }
+        User chosen = choose(issue, constituency, candidates);
+        routed.increment();
+        return chosen;
+    }
+
+    private User choose(Issue issue, String constituency, List<User> candidates) {
+        String category = issue.getCategory();
+        if (strategy.isLoadAware()) {
+            for (int attempt = 0; attempt < RESERVE_ATTEMPTS; attempt++) {
+                LoadSnapshot loads = loadTracker.snapshot(candidates, category);
+                User chosen = strategy.choose(constituency, category, candidates, loads);
+                if (loadTracker.tryReserve(issue.getId(), chosen.getId(), category, loads.activeCount(chosen.getId()))) {
+                    return chosen;
+                }
+                retries.increment();
+            }
+            // Under sustained contention a slightly uneven spread beats stalling the request
+            forcedReservations.increment();
+        }
+        User chosen = strategy.choose(constituency, category, candidates, loadTracker.snapshot(candidates, category));
+        loadTracker.reserve(issue.getId(), chosen.getId(), category);
+        return chosen;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "issueRouting";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled ? 1 : 0);
+        metrics.put("routed", routed.sum());
+        metrics.put("noConstituency", noConstituency.sum());
+        metrics.put("noCandidates", noCandidates.sum());
+        metrics.put("retries", retries.sum());
+        metrics.put("forcedReservations", forcedReservations.sum());
+        return metrics;
+    }
+}
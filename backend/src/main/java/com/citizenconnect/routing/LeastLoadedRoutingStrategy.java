@@ -0,0 +1,33 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes to the politician with the fewest active issues; ties go to the
+ * lowest id so the choice is deterministic.
+ */
+@Component
+public class LeastLoadedRoutingStrategy implements RoutingStrategy {
+
+    @Override
+    public String getName() {
+        return "least-loaded";
+    }
+
+    @Override
+    public User choose(String constituency, String category, List<User> candidates, LoadSnapshot loads) {
+        User best = candidates.get(0);
+        long bestLoad = loads.activeCount(best.getId());
+        for (int i = 1; i < candidates.size(); i++) {
+            long load = loads.activeCount(candidates.get(i).getId());
+            if (load < bestLoad) {
+                best = candidates.get(i);
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
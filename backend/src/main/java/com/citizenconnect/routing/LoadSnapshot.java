@@ -0,0 +1,20 @@
+package com.citizenconnect.routing;
+
+import java.util.Map;
+
+/**
+ * The loads of a routing decision's candidates, read once from the tracker.
+ * Strategies decide on these values and the router reserves the chosen
+ * politician only if their live count still matches, so a decision made on
+ * stale numbers is retried instead of committed.
+ */
+public record LoadSnapshot(Map<Long, Long> activeCounts, Map<Long, Long> categoryCounts) {
+
+    public long activeCount(Long politicianId) {
+        return activeCounts.getOrDefault(politicianId, 0L);
+    }
+
+    public long categoryCount(Long politicianId) {
+        return categoryCounts.getOrDefault(politicianId, 0L);
+    }
+}
@@ -0,0 +1,228 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live per-politician counts of active (OPEN or IN_PROGRESS) issues, plus how
+ * many issues each politician has been assigned per category. Counters are
+ * atomics updated from issue events without locking; routing reserves a slot
+ * with a compare-and-set as soon as it picks a politician, so concurrent
+ * creations see each other before commit. Seeded at startup and reconciled
+ * against the database periodically by swapping in a fresh set of counters.
+ */
+@Component
+public class PoliticianLoadTracker implements MetricsSource {
+
+    private static final Set<IssueStatus> ACTIVE = EnumSet.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final IssueRepository issueRepository;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters());
+    // Issues routed in a transaction that has not finished yet: issue id -> politician id
+    private final Map<Long, Long> reservations = new ConcurrentHashMap<>();
+
+    // Bumped before every update touches the counters, so a reconcile can tell it raced one
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong reconciles = new AtomicLong();
+
+    public PoliticianLoadTracker(IssueRepository issueRepository) {
+        this.issueRepository = issueRepository;
+    }
+
+    public long activeCount(Long politicianId) {
+        AtomicLong count = counters.get().active.get(politicianId);
+        return count != null ? count.get() : 0;
+    }
+
+    public long categoryCount(Long politicianId, String category) {
+        Map<String, AtomicLong> byCategory = counters.get().categories.get(politicianId);
+        AtomicLong count = byCategory != null && category != null ? byCategory.get(category) : null;
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Reads the loads of the candidates once, for a strategy to decide on and
+     * for {@link #tryReserve} to check against.
+     */
+    public LoadSnapshot snapshot(List<User> candidates, String category) {
+        Map<Long, Long> active = new HashMap<>();
+        Map<Long, Long> inCategory = new HashMap<>();
+        for (User candidate : candidates) {
+            active.put(candidate.getId(), activeCount(candidate.getId()));
+            inCategory.put(candidate.getId(), categoryCount(candidate.getId(), category));
+        }
+        return new LoadSnapshot(active, inCategory);
+    }
+
+    /**
+     * Counts a freshly routed issue immediately, whatever the politician's
+     * current load. The matching CREATED event only clears the reservation; a
+     * rollback gives the slot back.
+     */
+    public void reserve(Long issueId, Long politicianId, String category) {
+        adjust(politicianId, category, 1, true);
+        track(issueId, politicianId, category);
+    }
+
+    /**
+     * Reserves a slot only if the politician still has exactly the load the
+     * routing decision was based on. Returns false when another creation got
+     * there first; the caller should decide again on fresh numbers.
+     */
+    public boolean tryReserve(Long issueId, Long politicianId, String category, long expectedLoad) {
+        version.incrementAndGet();
+        Counters current = counters.get();
+        if (!counterFor(current.active, politicianId).compareAndSet(expectedLoad, expectedLoad + 1)) {
+            return false;
+        }
+        if (category != null) {
+            counterFor(current.categoriesOf(politicianId), category).incrementAndGet();
+        }
+        track(issueId, politicianId, category);
+        return true;
+    }
+
+    private void track(Long issueId, Long politicianId, String category) {
+        reservations.put(issueId, politicianId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED && reservations.remove(issueId, politicianId)) {
+                        adjust(politicianId, category, -1, true);
+                    }
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void onIssueEvent(IssueEvent event) {
+        Long politicianId = event.getPoliticianId();
+        boolean active = politicianId != null && ACTIVE.contains(event.getStatus());
+        switch (event.getType()) {
+            case CREATED -> {
+                if (reservations.remove(event.getIssueId()) == null && active) {
+                    adjust(politicianId, event.getCategory(), 1, true);
+                }
+            }
+            case DELETED -> {
+                if (active) {
+                    adjust(politicianId, null, -1, false);
+                }
+            }
+            case UPDATED -> {
+                Long previousPoliticianId = event.getPreviousPoliticianId();
+                boolean wasActive = previousPoliticianId != null && ACTIVE.contains(event.getPreviousStatus());
+                boolean reassigned = politicianId != null && !politicianId.equals(previousPoliticianId);
+                if (wasActive && (!active || reassigned)) {
+                    adjust(previousPoliticianId, null, -1, false);
+                }
+                if (active && (!wasActive || reassigned)) {
+                    adjust(politicianId, reassigned ? event.getCategory() : null, 1, true);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Replaces the counters with database totals plus in-flight reservations.
+     * The swap is a single reference store, so updates never wait on it; if an
+     * update started while the queries ran it may have gone to the old
+     * counters, and the attempt is repeated on fresh numbers.
+     */
+    @Scheduled(fixedDelayString = "${routing.reconcile-interval-ms:600000}",
+            initialDelayString = "${routing.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            long before = version.get();
+            Map<Long, Long> active = new HashMap<>();
+            for (Object[] row : issueRepository.countActiveByPolitician(ACTIVE)) {
+                active.put((Long) row[0], (Long) row[1]);
+            }
+            Map<Long, Map<String, Long>> categories = new HashMap<>();
+            for (Object[] row : issueRepository.countAssignedByPoliticianAndCategory()) {
+                categories.computeIfAbsent((Long) row[0], id -> new HashMap<>()).put((String) row[1], (Long) row[2]);
+            }
+            reservations.values().forEach(politicianId -> active.merge(politicianId, 1L, Long::sum));
+
+            Counters fresh = new Counters();
+            active.forEach((id, count) -> fresh.active.put(id, new AtomicLong(count)));
+            categories.forEach((id, byCategory) -> byCategory.forEach(
+                    (category, count) -> fresh.categoriesOf(id).put(category, new AtomicLong(count))));
+            if (version.get() != before) {
+                continue;
+            }
+            counters.set(fresh);
+            if (version.get() == before) {
+                reconciles.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void adjust(Long politicianId, String category, long delta, boolean countCategory) {
+        version.incrementAndGet();
+        Counters current = counters.get();
+        counterFor(current.active, politicianId).addAndGet(delta);
+        if (countCategory && category != null) {
+            counterFor(current.categoriesOf(politicianId), category).addAndGet(delta);
+        }
+    }
+
+    private static <K> AtomicLong counterFor(Map<K, AtomicLong> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "politicianLoad";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<Long, AtomicLong> active = counters.get().active;
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("trackedPoliticians", active.size());
+        metrics.put("activeIssues", active.values().stream().mapToLong(AtomicLong::get).sum());
+        metrics.put("pendingReservations", reservations.size());
+        metrics.put("reconciles", reconciles.get());
+        return metrics;
+    }
+
+    private static final class Counters {
+        final Map<Long, AtomicLong> active = new ConcurrentHashMap<>();
+        final Map<Long, Map<String, AtomicLong>> categories = new ConcurrentHashMap<>();
+
+        Map<String, AtomicLong> categoriesOf(Long politicianId) {
+            return categories.computeIfAbsent(politicianId, k -> new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rotates through a constituency's politicians regardless of their load.
+ */
+@Component
+public class RoundRobinRoutingStrategy implements RoutingStrategy {
+
+    private final Map<String, AtomicLong> cursors = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return "round-robin";
+    }
+
+    @Override
+    public boolean isLoadAware() {
+        return false;
+    }
+
+    @Override
+    public User choose(String constituency, String category, List<User> candidates, LoadSnapshot loads) {
+        long turn = cursors.computeIfAbsent(constituency, c -> new AtomicLong()).getAndIncrement();
+        return candidates.get((int) Math.floorMod(turn, (long) candidates.size()));
+    }
+}
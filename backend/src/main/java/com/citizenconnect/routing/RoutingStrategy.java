@@ -0,0 +1,35 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.User;
+
+import java.util.List;
+
+/**
+ * Picks the politician a new issue is routed to. Implementations are Spring
+ * beans selected by name through the routing.strategy property, so a new
+ * policy only needs a new bean.
+ */
+public interface RoutingStrategy {
+
+    /**
+     * Name used in routing.strategy.
+     */
+    String getName();
+
+    /**
+     * Chooses one of the candidates, which are the enabled politicians of the
+     * issue's constituency ordered by id. Never called with an empty list.
+     * Load-aware strategies must decide on the given snapshot only, since the
+     * router reserves against it.
+     */
+    User choose(String constituency, String category, List<User> candidates, LoadSnapshot loads);
+
+    /**
+     * Whether the choice depends on the loads. The router retries a load-aware
+     * choice when the chosen politician's load moved before the reservation;
+     * other strategies are reserved unconditionally.
+     */
+    default boolean isLoadAware() {
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+package com.citizenconnect.search;
+
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Owns the near-duplicate index: loads it from the local snapshot (or
+ * rebuilds it from the database) at startup, adds and removes issues from
+ * events after commit, and snapshots it back to disk periodically.
+ */
+@Service
+public class DuplicateDetectionService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final IssueRepository issueRepository;
+    private final Path snapshotFile;
+    private final boolean enabled;
+    private final double minSimilarity;
+    private final int maxCandidates;
+
+    private volatile MinHashIndex index = new MinHashIndex();
+    private volatile boolean ready;
+    // Events seen while the index is loading, replayed once it is in place
+    private final Queue<IssueEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupsWithCandidates = new LongAdder();
+
+    public DuplicateDetectionService(IssueRepository issueRepository,
+            @Value("${duplicates.enabled:true}") boolean enabled,
+            @Value("${duplicates.index-dir:data/duplicates}") String indexDir,
+            @Value("${duplicates.min-similarity:0.5}") double minSimilarity,
+            @Value("${duplicates.max-candidates:5}") int maxCandidates) {
+        this.issueRepository = issueRepository;
+        this.enabled = enabled;
+        this.snapshotFile = Paths.get(indexDir).toAbsolutePath().resolve("minhash.idx");
+        this.minSimilarity = minSimilarity;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        if (!loadSnapshot()) {
+            rebuild();
+        }
+        ready = true;
+        applyPending();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Likely duplicates of the given text among indexed issues, most similar
+     * first. Empty while the index is loading or when detection is disabled.
+     */
+    public List<MinHashIndex.Candidate> findCandidates(Long issueId, String title, String description) {
+        if (!ready) {
+            return List.of();
+        }
+        short[] signature = MinHasher.signature(title, description);
+        if (signature == null) {
+            return List.of();
+        }
+        lookups.increment();
+        List<MinHashIndex.Candidate> candidates = index.candidates(signature, issueId != null ? issueId : 0,
+                minSimilarity, maxCandidates);
+        if (!candidates.isEmpty()) {
+            lookupsWithCandidates.increment();
+        }
+        return candidates;
+    }
+
+    @TransactionalEventListener
+    public void onIssueEvent(IssueEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            pendingEvents.add(event);
+            if (ready) {
+                // initialize() finished between the check and the add and may have missed it
+                applyPending();
+            }
+            return;
+        }
+        apply(event);
+    }
+
+    private void applyPending() {
+        IssueEvent pending;
+        while ((pending = pendingEvents.poll()) != null) {
+            apply(pending);
+        }
+    }
+
+    private void apply(IssueEvent event) {
+        if (event.getType() == IssueEvent.Type.CREATED) {
+            add(index, event.getIssueId(), event.getTitle(), event.getDescription());
+            dirty.set(true);
+        } else if (event.getType() == IssueEvent.Type.DELETED
+                || event.getType() == IssueEvent.Type.ARCHIVED) {
+            index.remove(event.getIssueId());
+            dirty.set(true);
+        }
+    }
+
+    private static void add(MinHashIndex target, Long issueId, String title, String description) {
+        short[] signature = MinHasher.signature(title, description);
+        if (signature != null) {
+            target.add(issueId, signature);
+        }
+    }
+
+    /**
+     * Re-reads every issue from the database in id order.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        MinHashIndex rebuilt = new MinHashIndex();
+        index = rebuilt;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> batch = issueRepository.findSearchDocumentsAfter(afterId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : batch) {
+                add(rebuilt, (Long) row[0], (String) row[1], (String) row[2]);
+            }
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterId = (Long) batch.get(batch.size() - 1)[0];
+        }
+        dirty.set(true);
+        log.info("Duplicate index rebuilt with {} issues in {} ms", rebuilt.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${duplicates.snapshot-interval-ms:300000}",
+            initialDelayString = "${duplicates.snapshot-interval-ms:300000}")
+    public void snapshotIfDirty() {
+        if (ready && dirty.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotIfDirty();
+    }
+
+    private boolean loadSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+            MinHashIndex loaded = MinHashIndex.readFrom(in);
+            // Issues without indexable text are never added, so only the newest id
+            // is compared; ids deleted since the snapshot merely yield candidates
+            // that no longer resolve and are dropped by the caller
+            Long maxId = issueRepository.findMaxId();
+            if (loaded.maxIssueId() != (maxId != null ? maxId : 0)) {
+                log.info("Duplicate index snapshot is stale (max id {}, table {}); rebuilding",
+                        loaded.maxIssueId(), maxId);
+                return false;
+            }
+            index = loaded;
+            log.info("Duplicate index loaded from {} with {} issues", snapshotFile, loaded.size());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to load duplicate index snapshot: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                index.writeTo(out);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Failed to write duplicate index snapshot: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "duplicateDetection";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>(index.stats());
+        metrics.put("ready", ready ? 1 : 0);
+        metrics.put("lookups", lookups.sum());
+        metrics.put("lookupsWithCandidates", lookupsWithCandidates.sum());
+        return metrics;
+    }
+}
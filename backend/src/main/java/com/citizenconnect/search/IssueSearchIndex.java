@@ -0,0 +1,414 @@
+package com.citizenconnect.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over issue title and description with BM25
+ * ranking. Title terms are counted twice so title matches rank higher.
+ * Deletes leave tombstones that are skipped at query time and compacted
+ * away once they make up a large share of the postings.
+ */
+public class IssueSearchIndex {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docLengths = new HashMap<>();
+    // Ids removed since the last compaction; their postings are still present
+    private final Set<Long> tombstones = new HashSet<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes an issue. Title and description never change after creation,
+     * so adding an id that is already indexed is a no-op.
+     */
+    public void add(long issueId, String title, String description) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : TextAnalyzer.analyze(title)) {
+            termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TextAnalyzer.analyze(description)) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            if (docLengths.containsKey(issueId)) {
+                return;
+            }
+            if (tombstones.contains(issueId)) {
+                compactLocked();
+            }
+            termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new Postings()).add(issueId, tf));
+            docLengths.put(issueId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long issueId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(issueId);
+            if (tombstones.size() > 1000 && tombstones.size() * 5L > docLengths.size()) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks live documents against the query and returns the requested page
+     * of issue ids, best match first. Terms are OR-ed together.
+     *
+     * Top-k retrieval with MaxScore pruning: each term's postings are walked
+     * in doc id order next to an upper bound of the score it can contribute.
+     * Once (page + 1) * size documents are held, terms whose summed bounds
+     * cannot lift a document past the current k-th score stop producing
+     * candidates and are only probed (by binary search) for documents the
+     * other terms found, and a candidate is abandoned as soon as its
+     * remaining bounds cannot reach the k-th score. The total is therefore a
+     * lower bound once pruning kicks in.
+     */
+    public SearchResult search(String query, int page, int size) {
+        List<String> terms = TextAnalyzer.analyze(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            int docCount = docLengths.size();
+            if (docCount == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            double avgLength = (double) totalLength / docCount;
+            List<TermCursor> cursors = new ArrayList<>();
+            long matchesLowerBound = 0;
+            for (String term : terms.stream().distinct().toList()) {
+                Postings list = postings.get(term);
+                if (list == null || list.size == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size + 0.5) / (list.size + 0.5));
+                cursors.add(new TermCursor(list, idf, avgLength));
+                matchesLowerBound = Math.max(matchesLowerBound, list.size - tombstones.size());
+            }
+            if (cursors.isEmpty()) {
+                return new SearchResult(List.of(), 0);
+            }
+            // Lowest bound first; cursors [0, essential) are the non-essential ones
+            cursors.sort(Comparator.comparingDouble(cursor -> cursor.maxScore));
+            double[] boundSums = new double[cursors.size() + 1];
+            for (int i = 0; i < cursors.size(); i++) {
+                boundSums[i + 1] = boundSums[i] + cursors.get(i).maxScore;
+            }
+
+            int needed = (page + 1) * size;
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(needed + 1);
+            double threshold = 0;
+            int essential = 0;
+            long matches = 0;
+            while (true) {
+                long doc = Long.MAX_VALUE;
+                for (int i = essential; i < cursors.size(); i++) {
+                    doc = Math.min(doc, cursors.get(i).doc());
+                }
+                if (doc == Long.MAX_VALUE) {
+                    break;
+                }
+                Integer length = docLengths.get(doc);
+                double score = 0;
+                for (int i = essential; i < cursors.size(); i++) {
+                    TermCursor cursor = cursors.get(i);
+                    if (cursor.doc() == doc) {
+                        if (length != null) {
+                            score += cursor.score(length);
+                        }
+                        cursor.next();
+                    }
+                }
+                if (length == null) {
+                    continue;
+                }
+                matches++;
+                // Ties on score go to the higher id, so only a strictly lower ceiling rules a doc out
+                for (int i = essential - 1; i >= 0 && score + boundSums[i + 1] >= threshold; i--) {
+                    TermCursor cursor = cursors.get(i);
+                    if (cursor.advance(doc) == doc) {
+                        score += cursor.score(length);
+                    }
+                }
+                ScoredDoc candidate = new ScoredDoc(doc, score);
+                if (top.size() < needed) {
+                    top.offer(candidate);
+                } else if (candidate.compareTo(top.peek()) > 0) {
+                    top.poll();
+                    top.offer(candidate);
+                }
+                if (top.size() == needed) {
+                    threshold = top.peek().score;
+                    while (essential < cursors.size() && boundSums[essential + 1] < threshold) {
+                        essential++;
+                    }
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().doc);
+            }
+            Collections.reverse(ranked);
+            int from = Math.min(page * size, ranked.size());
+            return new SearchResult(ranked.subList(from, ranked.size()), Math.max(matches, matchesLowerBound));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Number> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Number> stats = new LinkedHashMap<>();
+            stats.put("documents", docLengths.size());
+            stats.put("terms", postings.size());
+            stats.put("tombstones", tombstones.size());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long maxDocumentId() {
+        lock.readLock().lock();
+        try {
+            return docLengths.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(docLengths.size());
+            for (Map.Entry<Long, Integer> doc : docLengths.entrySet()) {
+                out.writeLong(doc.getKey());
+                out.writeInt(doc.getValue());
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                int live = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (docLengths.containsKey(list.docs[i])) {
+                        live++;
+                    }
+                }
+                out.writeInt(live);
+                for (int i = 0; i < list.size; i++) {
+                    if (docLengths.containsKey(list.docs[i])) {
+                        out.writeLong(list.docs[i]);
+                        out.writeInt(list.freqs[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static IssueSearchIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported search index format");
+        }
+        IssueSearchIndex index = new IssueSearchIndex();
+        int docs = in.readInt();
+        for (int i = 0; i < docs; i++) {
+            long id = in.readLong();
+            int length = in.readInt();
+            index.docLengths.put(id, length);
+            index.totalLength += length;
+        }
+        int terms = in.readInt();
+        for (int t = 0; t < terms; t++) {
+            String term = in.readUTF();
+            int size = in.readInt();
+            Postings list = new Postings(Math.max(size, 1));
+            for (int i = 0; i < size; i++) {
+                list.add(in.readLong(), in.readInt());
+            }
+            index.postings.put(term, list);
+        }
+        return index;
+    }
+
+    private void removeLocked(long issueId) {
+        Integer length = docLengths.remove(issueId);
+        if (length != null) {
+            totalLength -= length;
+            tombstones.add(issueId);
+        }
+    }
+
+    private void compactLocked() {
+        postings.values().removeIf(list -> list.retainLive(docLengths) == 0);
+        tombstones.clear();
+    }
+
+    public static class SearchResult {
+        private final List<Long> issueIds;
+        private final long totalMatches;
+
+        public SearchResult(List<Long> issueIds, long totalMatches) {
+            this.issueIds = issueIds;
+            this.totalMatches = totalMatches;
+        }
+
+        public List<Long> getIssueIds() {
+            return issueIds;
+        }
+
+        public long getTotalMatches() {
+            return totalMatches;
+        }
+    }
+
+    /**
+     * Doc ids in ascending order with their term frequencies, plus the
+     * largest frequency (for the term's score bound).
+     */
+    private static final class Postings {
+        private long[] docs;
+        private int[] freqs;
+        private int size;
+        private int maxFreq;
+
+        private Postings() {
+            this(4);
+        }
+
+        private Postings(int capacity) {
+            docs = new long[capacity];
+            freqs = new int[capacity];
+        }
+
+        private void add(long doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            // Ids mostly arrive in increasing order; anything else is inserted in place
+            int at = size;
+            if (size > 0 && docs[size - 1] > doc) {
+                at = Arrays.binarySearch(docs, 0, size, doc);
+                at = at < 0 ? -at - 1 : at;
+                System.arraycopy(docs, at, docs, at + 1, size - at);
+                System.arraycopy(freqs, at, freqs, at + 1, size - at);
+            }
+            docs[at] = doc;
+            freqs[at] = freq;
+            size++;
+            maxFreq = Math.max(maxFreq, freq);
+        }
+
+        private int retainLive(Map<Long, Integer> live) {
+            int kept = 0;
+            maxFreq = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.containsKey(docs[i])) {
+                    docs[kept] = docs[i];
+                    freqs[kept] = freqs[i];
+                    maxFreq = Math.max(maxFreq, freqs[i]);
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Position in one term's postings during a search.
+     */
+    private static final class TermCursor {
+        private final Postings list;
+        private final double idf;
+        private final double avgLength;
+        // BM25 grows with tf and shrinks with length, so maxFreq at length 0 bounds every posting
+        private final double maxScore;
+        private int position;
+
+        private TermCursor(Postings list, double idf, double avgLength) {
+            this.list = list;
+            this.idf = idf;
+            this.avgLength = avgLength;
+            this.maxScore = idf * (list.maxFreq * (K1 + 1)) / (list.maxFreq + K1 * (1 - B));
+        }
+
+        private long doc() {
+            return position < list.size ? list.docs[position] : Long.MAX_VALUE;
+        }
+
+        private void next() {
+            position++;
+        }
+
+        /**
+         * Moves to the first posting at or after {@code target} and returns its doc id.
+         */
+        private long advance(long target) {
+            if (position < list.size && list.docs[position] < target) {
+                int found = Arrays.binarySearch(list.docs, position, list.size, target);
+                position = found < 0 ? -found - 1 : found;
+            }
+            return doc();
+        }
+
+        private double score(int length) {
+            int tf = list.freqs[position];
+            return idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * length / avgLength));
+        }
+    }
+
+    // Natural order is worst first: lower score, then lower id
+    private record ScoredDoc(long doc, double score) implements Comparable<ScoredDoc> {
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(doc, other.doc);
+        }
+    }
+}
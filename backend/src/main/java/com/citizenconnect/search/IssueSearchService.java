@@ -0,0 +1,209 @@
+package com.citizenconnect.search;
+
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Owns the issue full-text index: loads it from the local snapshot (or
+ * rebuilds it from the database) at startup, keeps it current from issue
+ * events after commit, and snapshots it back to disk periodically.
+ */
+@Service
+public class IssueSearchService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueSearchService.class);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final IssueRepository issueRepository;
+    private final Path snapshotFile;
+    private final int maxResults;
+
+    private volatile IssueSearchIndex index = new IssueSearchIndex();
+    private volatile boolean ready;
+    // Events seen while the index is loading, replayed once it is in place
+    private final Queue<IssueEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final LongAdder queries = new LongAdder();
+
+    public IssueSearchService(IssueRepository issueRepository,
+            @Value("${search.index-dir:data/search}") String indexDir,
+            @Value("${search.max-results:1000}") int maxResults) {
+        this.issueRepository = issueRepository;
+        this.maxResults = maxResults;
+        this.snapshotFile = Paths.get(indexDir).toAbsolutePath().resolve("issues.idx");
+    }
+
+    /**
+     * Runs off the startup thread; searches use the database fallback until
+     * the index reports ready.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!loadSnapshot()) {
+            rebuild();
+        }
+        ready = true;
+        IssueEvent pending;
+        while ((pending = pendingEvents.poll()) != null) {
+            apply(pending);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Deepest result position a search may page to; a page ending past it is
+     * rejected so no query has to rank an unbounded number of documents.
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public IssueSearchIndex.SearchResult search(String query, int page, int size) {
+        queries.increment();
+        return index.search(query, page, size);
+    }
+
+    @TransactionalEventListener
+    public void onIssueEvent(IssueEvent event) {
+        // Applied to the index being built as well; add is idempotent and the
+        // replay covers a snapshot swapped in underneath this call
+        if (!ready) {
+            pendingEvents.add(event);
+        }
+        apply(event);
+    }
+
+    private void apply(IssueEvent event) {
+        if (event.getType() == IssueEvent.Type.CREATED) {
+            index.add(event.getIssueId(), event.getTitle(), event.getDescription());
+            dirty.set(true);
+        } else if (event.getType() == IssueEvent.Type.DELETED
+                || event.getType() == IssueEvent.Type.ARCHIVED) {
+            index.remove(event.getIssueId());
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Re-reads every issue from the database in id order.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        IssueSearchIndex rebuilt = new IssueSearchIndex();
+        index = rebuilt;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> batch = issueRepository.findSearchDocumentsAfter(afterId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : batch) {
+                rebuilt.add((Long) row[0], (String) row[1], (String) row[2]);
+            }
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterId = (Long) batch.get(batch.size() - 1)[0];
+        }
+        dirty.set(true);
+        log.info("Search index rebuilt with {} issues in {} ms", rebuilt.documentCount(),
+                System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${search.snapshot-interval-ms:300000}",
+            initialDelayString = "${search.snapshot-interval-ms:300000}")
+    public void snapshotIfDirty() {
+        if (ready && dirty.getAndSet(false)) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotIfDirty();
+    }
+
+    private boolean loadSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+            IssueSearchIndex loaded = IssueSearchIndex.readFrom(in);
+            // Cheap staleness check: the snapshot must cover exactly the rows in the table
+            long rows = issueRepository.count();
+            Long maxId = issueRepository.findMaxId();
+            if (loaded.documentCount() != rows || loaded.maxDocumentId() != (maxId != null ? maxId : 0)) {
+                log.info("Search index snapshot is stale ({} docs, {} rows); rebuilding", loaded.documentCount(), rows);
+                return false;
+            }
+            index = loaded;
+            log.info("Search index loaded from {} with {} issues", snapshotFile, loaded.documentCount());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to load search index snapshot: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                index.writeTo(out);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Failed to write search index snapshot: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "issueSearch";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>(index.stats());
+        metrics.put("ready", ready ? 1 : 0);
+        metrics.put("queries", queries.sum());
+        return metrics;
+    }
+}
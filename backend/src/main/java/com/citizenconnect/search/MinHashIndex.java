@@ -0,0 +1,414 @@
+package com.citizenconnect.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures. The signature is
+ * cut into {@value #BANDS} bands of {@value #ROWS} rows; two issues become
+ * candidates when any band matches exactly, which happens with probability
+ * 1 - (1 - s^4)^16 for Jaccard similarity s (about 0.5 at s = 0.45 and 0.99
+ * at s = 0.7). A lookup probes one bucket per band and stops after
+ * {@value #MAX_BUCKET_SCAN} matches in a band, so its cost does not grow
+ * with the number of indexed issues.
+ * <p>
+ * Everything lives in primitive arrays to keep the footprint predictable.
+ * Per issue: 128 bytes of signature, 8 bytes of id, 16-32 bytes in the
+ * id-to-slot table and 5-11 bytes in each of the 16 band tables (open
+ * addressing holding only the slot; the band key is re-read from the
+ * signature). That is roughly 240-340 bytes per issue, or at most about
+ * 340 MB of heap for a million issues.
+ */
+public class MinHashIndex {
+
+    private static final int FORMAT_VERSION = 1;
+    static final int BANDS = 16;
+    static final int ROWS = MinHasher.NUM_HASHES / BANDS;
+    private static final int MAX_BUCKET_SCAN = 64;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_TABLE_SIZE = 2048;
+
+    private short[] signatures = new short[INITIAL_SLOTS * MinHasher.NUM_HASHES];
+    private long[] issueIds = new long[INITIAL_SLOTS];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private final SlotTable slotsById = new SlotTable();
+    private final BandTable[] bands = new BandTable[BANDS];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MinHashIndex() {
+        for (int b = 0; b < BANDS; b++) {
+            bands[b] = new BandTable(b);
+        }
+    }
+
+    /**
+     * Indexes an issue's signature. Issue text never changes after creation,
+     * so adding an id that is already indexed is a no-op.
+     */
+    public void add(long issueId, short[] signature) {
+        lock.writeLock().lock();
+        try {
+            if (slotsById.get(issueId) >= 0) {
+                return;
+            }
+            int slot = allocateSlot();
+            System.arraycopy(signature, 0, signatures, slot * MinHasher.NUM_HASHES, MinHasher.NUM_HASHES);
+            issueIds[slot] = issueId;
+            slotsById.put(issueId, slot);
+            for (BandTable band : bands) {
+                band.insert(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long issueId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.remove(issueId);
+            if (slot < 0) {
+                return;
+            }
+            for (BandTable band : bands) {
+                band.delete(slot);
+            }
+            issueIds[slot] = 0;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed issues whose estimated similarity to the signature is at least
+     * {@code minSimilarity}, most similar first.
+     */
+    public List<Candidate> candidates(short[] signature, long excludeId, double minSimilarity, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> slots = new HashSet<>();
+            for (BandTable band : bands) {
+                band.collect(signature, slots);
+            }
+            List<Candidate> candidates = new ArrayList<>();
+            for (int slot : slots) {
+                if (issueIds[slot] == excludeId) {
+                    continue;
+                }
+                double similarity = similarity(slot, signature);
+                if (similarity >= minSimilarity) {
+                    candidates.add(new Candidate(issueIds[slot], similarity));
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(Candidate::getSimilarity).reversed()
+                    .thenComparingLong(Candidate::getIssueId));
+            return candidates.size() > limit ? candidates.subList(0, limit) : candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long maxIssueId() {
+        lock.readLock().lock();
+        try {
+            long max = 0;
+            for (int slot = 0; slot < slotCount; slot++) {
+                max = Math.max(max, issueIds[slot]);
+            }
+            return max;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Number> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Number> stats = new LinkedHashMap<>();
+            stats.put("issues", slotsById.size);
+            stats.put("slots", slotCount);
+            long bytes = (long) signatures.length * Short.BYTES + (long) issueIds.length * Long.BYTES
+                    + slotsById.bytes();
+            for (BandTable band : bands) {
+                bytes += (long) band.entries.length * Integer.BYTES;
+            }
+            stats.put("approxBytes", bytes);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(MinHasher.NUM_HASHES);
+            out.writeInt(slotsById.size);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (issueIds[slot] == 0) {
+                    continue;
+                }
+                out.writeLong(issueIds[slot]);
+                int offset = slot * MinHasher.NUM_HASHES;
+                for (int j = 0; j < MinHasher.NUM_HASHES; j++) {
+                    out.writeShort(signatures[offset + j]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static MinHashIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION || in.readInt() != MinHasher.NUM_HASHES) {
+            throw new IOException("Unsupported duplicate index format");
+        }
+        MinHashIndex index = new MinHashIndex();
+        int count = in.readInt();
+        short[] signature = new short[MinHasher.NUM_HASHES];
+        for (int i = 0; i < count; i++) {
+            long issueId = in.readLong();
+            for (int j = 0; j < MinHasher.NUM_HASHES; j++) {
+                signature[j] = in.readShort();
+            }
+            index.add(issueId, signature);
+        }
+        return index;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == issueIds.length) {
+            issueIds = Arrays.copyOf(issueIds, slotCount * 2);
+            signatures = Arrays.copyOf(signatures, slotCount * 2 * MinHasher.NUM_HASHES);
+        }
+        return slotCount++;
+    }
+
+    private double similarity(int slot, short[] signature) {
+        int offset = slot * MinHasher.NUM_HASHES;
+        int equal = 0;
+        for (int j = 0; j < MinHasher.NUM_HASHES; j++) {
+            if (signatures[offset + j] == signature[j]) {
+                equal++;
+            }
+        }
+        return (double) equal / MinHasher.NUM_HASHES;
+    }
+
+    private static int bandHash(short[] values, int offset) {
+        long h = 0;
+        for (int r = 0; r < ROWS; r++) {
+            h = (h << 16) | (values[offset + r] & 0xFFFF);
+        }
+        return (int) MinHasher.mix64(h);
+    }
+
+    /**
+     * One band's buckets: a linear-probing multimap from band key to slot.
+     * Entries hold slot + 1, with 0 for empty and -1 for a deleted entry.
+     */
+    private final class BandTable {
+        private static final int DELETED = -1;
+
+        private final int rowOffset;
+        private int[] entries = new int[INITIAL_TABLE_SIZE];
+        private int live;
+        private int used;
+
+        private BandTable(int band) {
+            this.rowOffset = band * ROWS;
+        }
+
+        private void insert(int slot) {
+            if ((used + 1) * 4L > entries.length * 3L) {
+                resize();
+            }
+            int mask = entries.length - 1;
+            int i = bandHash(signatures, slot * MinHasher.NUM_HASHES + rowOffset) & mask;
+            while (entries[i] > 0) {
+                i = (i + 1) & mask;
+            }
+            if (entries[i] == 0) {
+                used++;
+            }
+            entries[i] = slot + 1;
+            live++;
+        }
+
+        private void delete(int slot) {
+            int mask = entries.length - 1;
+            int i = bandHash(signatures, slot * MinHasher.NUM_HASHES + rowOffset) & mask;
+            while (entries[i] != 0) {
+                if (entries[i] == slot + 1) {
+                    entries[i] = DELETED;
+                    live--;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void collect(short[] signature, Set<Integer> out) {
+            int mask = entries.length - 1;
+            int i = bandHash(signature, rowOffset) & mask;
+            int matches = 0;
+            while (entries[i] != 0 && matches < MAX_BUCKET_SCAN) {
+                int slot = entries[i] - 1;
+                if (slot >= 0 && rowsEqual(slot, signature)) {
+                    out.add(slot);
+                    matches++;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private boolean rowsEqual(int slot, short[] signature) {
+            int offset = slot * MinHasher.NUM_HASHES + rowOffset;
+            for (int r = 0; r < ROWS; r++) {
+                if (signatures[offset + r] != signature[rowOffset + r]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Doubles when live entries pass half the table, otherwise only sweeps out deletions
+        private void resize() {
+            int[] old = entries;
+            int capacity = (live + 1) * 2L > old.length ? old.length * 2 : old.length;
+            entries = new int[capacity];
+            live = 0;
+            used = 0;
+            for (int entry : old) {
+                if (entry > 0) {
+                    insert(entry - 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Issue id to slot, linear probing over parallel arrays. Ids are always
+     * positive, so 0 marks an empty key and -1 a deleted one.
+     */
+    private static final class SlotTable {
+        private static final long EMPTY = 0;
+        private static final long DELETED = -1;
+
+        private long[] keys = new long[INITIAL_TABLE_SIZE];
+        private int[] values = new int[INITIAL_TABLE_SIZE];
+        private int size;
+        private int used;
+
+        private int get(long key) {
+            int mask = keys.length - 1;
+            int i = (int) MinHasher.mix64(key) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        // Callers check get() first, so the key is known to be absent
+        private void put(long key, int value) {
+            if ((used + 1) * 4L > keys.length * 3L) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = (int) MinHasher.mix64(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != DELETED) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                used++;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        private int remove(long key) {
+            int mask = keys.length - 1;
+            int i = (int) MinHasher.mix64(key) & mask;
+            while (keys[i] != EMPTY) {
+                if (keys[i] == key) {
+                    keys[i] = DELETED;
+                    size--;
+                    return values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int capacity = (size + 1) * 2L > oldKeys.length ? oldKeys.length * 2 : oldKeys.length;
+            keys = new long[capacity];
+            values = new int[capacity];
+            size = 0;
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY && oldKeys[i] != DELETED) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private long bytes() {
+            return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES;
+        }
+    }
+
+    public static class Candidate {
+        private final long issueId;
+        private final double similarity;
+
+        public Candidate(long issueId, double similarity) {
+            this.issueId = issueId;
+            this.similarity = similarity;
+        }
+
+        public long getIssueId() {
+            return issueId;
+        }
+
+        public double getSimilarity() {
+            return similarity;
+        }
+    }
+}
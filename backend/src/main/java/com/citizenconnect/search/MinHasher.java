@@ -0,0 +1,75 @@
+package com.citizenconnect.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over the set of analyzed (stemmed, stop-word free)
+ * terms of an issue. Reports are short, so word-level shingles are used:
+ * adding adjacent-word pairs roughly halves the similarity of two rewordings
+ * of the same complaint and pushes them below the LSH threshold. Each of
+ * the {@value #NUM_HASHES} minimums keeps only its top 16 bits (b-bit
+ * MinHash), which cuts the signature to a quarter of its 64-bit size with a
+ * negligible 1/65536 chance of two different minimums agreeing.
+ */
+public final class MinHasher {
+
+    public static final int NUM_HASHES = 64;
+
+    // Fixed seed: signatures are persisted, so they must be stable across restarts
+    private static final long[] SEEDS = new SplittableRandom(0x2545F4914F6CDD1DL).longs(NUM_HASHES).toArray();
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private MinHasher() {
+    }
+
+    /**
+     * Signature of the issue text, or null if it has no indexable terms.
+     */
+    public static short[] signature(String title, String description) {
+        List<String> terms = TextAnalyzer.analyze(title);
+        terms.addAll(TextAnalyzer.analyze(description));
+        if (terms.isEmpty()) {
+            return null;
+        }
+        long[] mins = new long[NUM_HASHES];
+        Arrays.fill(mins, -1L);
+        for (String term : new HashSet<>(terms)) {
+            update(mins, fnv1a(term));
+        }
+        short[] signature = new short[NUM_HASHES];
+        for (int j = 0; j < NUM_HASHES; j++) {
+            signature[j] = (short) (mins[j] >>> 48);
+        }
+        return signature;
+    }
+
+    private static void update(long[] mins, long shingle) {
+        for (int j = 0; j < NUM_HASHES; j++) {
+            long h = mix64(shingle ^ SEEDS[j]);
+            if (Long.compareUnsigned(h, mins[j]) < 0) {
+                mins[j] = h;
+            }
+        }
+    }
+
+    private static long fnv1a(String s) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    // Finalizer from MurmurHash3
+    static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,100 @@
+package com.citizenconnect.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizer for issue text: lower-cases, splits on anything that is not a
+ * letter or digit, drops stop words and applies a light suffix-stripping
+ * stemmer so "potholes", "pothole" and "potholed" share one term.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "for", "from", "has", "have",
+            "in", "into", "is", "it", "its", "of", "on", "or", "our", "so", "that", "the", "their", "there",
+            "this", "to", "was", "we", "were", "which", "with", "not", "no", "very");
+
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = lower.substring(start, i);
+                if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String word) {
+        if (word.length() <= MIN_STEM_LENGTH || Character.isDigit(word.charAt(0))) {
+            return word;
+        }
+        String w = word;
+        if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        if (w.endsWith("ingly")) {
+            w = strip(w, 5);
+        } else if (w.endsWith("edly")) {
+            w = strip(w, 4);
+        } else if (w.endsWith("ing")) {
+            w = strip(w, 3);
+        } else if (w.endsWith("ed")) {
+            w = strip(w, 2);
+        } else if (w.endsWith("ly")) {
+            w = strip(w, 2);
+        } else if (w.endsWith("ment")) {
+            w = strip(w, 4);
+        }
+
+        // "stopped" -> "stopp" -> "stop"
+        int n = w.length();
+        if (n > MIN_STEM_LENGTH && w.charAt(n - 1) == w.charAt(n - 2) && "lsz".indexOf(w.charAt(n - 1)) < 0
+                && !isVowel(w.charAt(n - 1))) {
+            w = w.substring(0, n - 1);
+        }
+        return w;
+    }
+
+    private static String strip(String word, int suffixLength) {
+        String stem = word.substring(0, word.length() - suffixLength);
+        return stem.length() >= MIN_STEM_LENGTH && containsVowel(stem) ? stem : word;
+    }
+
+    private static boolean containsVowel(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (isVowel(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return "aeiouy".indexOf(c) >= 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.citizenconnect.security;
 
+import com.citizenconnect.entity.Role;
 import com.citizenconnect.entity.User;
 import com.citizenconnect.repository.UserRepository;
 import org.springframework.security.core.Authentication;
@@ -24,7 +25,18 @@ public class AuthenticationFacade {
         return auth != null ? auth.getName() : null;
     }
 
+    public UserPrincipal getCurrentPrincipal() {
+        Authentication auth = getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
     public Long getCurrentUserId() {
+        UserPrincipal principal = getCurrentPrincipal();
+        if (principal != null)
+            return principal.getId();
         String email = getCurrentUserEmail();
         if (email == null)
             return null;
@@ -33,7 +45,18 @@ public class AuthenticationFacade {
                 .orElse(null);
     }
 
+    public Role getCurrentUserRole() {
+        UserPrincipal principal = getCurrentPrincipal();
+        if (principal != null)
+            return principal.getRole();
+        User user = getCurrentUser();
+        return user != null ? user.getRole() : null;
+    }
+
     public User getCurrentUser() {
+        UserPrincipal principal = getCurrentPrincipal();
+        if (principal != null)
+            return userRepository.findById(principal.getId()).orElse(null);
         String email = getCurrentUserEmail();
         if (email == null)
             return null;
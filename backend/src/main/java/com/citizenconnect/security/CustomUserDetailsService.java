@@ -2,22 +2,21 @@ package com.citizenconnect.security;
 
 import com.citizenconnect.entity.User;
 import com.citizenconnect.repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
         private final UserRepository userRepository;
+        private final UserDetailsCache userDetailsCache;
 
-        public CustomUserDetailsService(UserRepository userRepository) {
+        public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
                 this.userRepository = userRepository;
+                this.userDetailsCache = userDetailsCache;
         }
 
         @Override
@@ -27,11 +26,25 @@ public class CustomUserDetailsService implements UserDetailsService {
                                 .orElseThrow(() -> new UsernameNotFoundException(
                                                 "User not found with email: " + email));
 
-                return new org.springframework.security.core.userdetails.User(
-                                user.getEmail(),
-                                user.getPassword(),
-                                user.isEnabled(),
-                                true, true, true,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+                return UserPrincipal.fromUser(user);
+        }
+
+        /**
+         * Per-request lookup used by the JWT filter. Served from the user details
+         * cache; the password is never cached since requests don't need it.
+         */
+        @Transactional(readOnly = true)
+        public UserDetails loadUserForRequest(String email) throws UsernameNotFoundException {
+                UserPrincipal cached = userDetailsCache.get(email);
+                if (cached != null) {
+                        return cached;
+                }
+                User user = userRepository.findByEmail(email)
+                                .orElseThrow(() -> new UsernameNotFoundException(
+                                                "User not found with email: " + email));
+                UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), null,
+                                user.getRole(), user.isEnabled());
+                userDetailsCache.put(principal);
+                return principal;
         }
 }
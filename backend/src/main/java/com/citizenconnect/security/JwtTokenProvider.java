@@ -9,9 +9,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -24,8 +26,20 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final VerifiedTokenCache tokenCache;
+
+    // Derived once from the secret; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    public JwtTokenProvider(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -33,30 +47,59 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
-    }
+                .expiration(expiryDate);
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        // Embed identity claims so the filter can build the principal without a user lookup
+        if (userDetails instanceof UserPrincipal principal) {
+            builder.claim(UserPrincipal.CLAIM_USER_ID, principal.getId())
+                    .claim(UserPrincipal.CLAIM_ROLE, principal.getRole().name())
+                    .claim(UserPrincipal.CLAIM_ENABLED, principal.isEnabled());
+        }
+
+        return builder.signWith(signingKey).compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Single parse path for incoming tokens: returns the verified claims, or
+     * null when the token is malformed, badly signed or expired. Verified
+     * tokens are cached until their exp so repeat requests skip the HMAC check.
+     */
+    public Claims resolveClaims(String token) {
+        Claims cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            tokenCache.put(token, claims);
+            return claims;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = resolveClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public boolean validateToken(String token) {
+        return resolveClaims(token) != null;
+    }
+
+    public void evictFromCache(String token) {
+        tokenCache.invalidate(token);
+    }
+
+    /**
+     * Latest expiry any token issued right now could have.
+     */
+    public Date maxExpiryFromNow() {
+        return new Date(System.currentTimeMillis() + jwtExpiration);
+    }
 }
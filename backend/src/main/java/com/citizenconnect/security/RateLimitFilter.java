@@ -0,0 +1,106 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-client rate limiting, registered right after JwtAuthenticationFilter so
+ * authenticated callers are keyed by user id and anonymous ones by client IP
+ * (taken from X-Forwarded-For when the app runs behind trusted proxies).
+ * Rejections get 429 with a Retry-After header.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.RouteGroup group = properties.isEnabled() ? matchGroup(request) : null;
+        if (group != null) {
+            long waitMillis = rateLimiter.tryAcquire(group, clientKey(request));
+            if (waitMillis > 0) {
+                reject(response, waitMillis);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.RouteGroup matchGroup(HttpServletRequest request) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getServletPath();
+        for (RateLimitProperties.RouteGroup group : properties.getGroups()) {
+            for (String pattern : group.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal principal) {
+            return "u:" + principal.getId();
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    /**
+     * Client address as seen by the outermost trusted proxy. Each proxy appends
+     * the address it received the request from to X-Forwarded-For, so with N
+     * trusted hops the client is the N-th entry from the right; anything
+     * further left was supplied by the client and is ignored. Without trusted
+     * hops (or a shorter header than expected) the socket peer is used.
+     */
+    private String clientIp(HttpServletRequest request) {
+        int hops = properties.getTrustedProxyHops();
+        String forwardedFor = hops > 0 ? request.getHeader("X-Forwarded-For") : null;
+        if (forwardedFor != null) {
+            String[] addresses = forwardedFor.split(",");
+            if (addresses.length >= hops) {
+                String address = addresses[addresses.length - hops].trim();
+                if (!address.isEmpty()) {
+                    return address;
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests. Please slow down and try again."));
+    }
+}
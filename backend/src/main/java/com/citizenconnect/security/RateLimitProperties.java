@@ -0,0 +1,102 @@
+package com.citizenconnect.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route-group rate limits, bound from the rate-limit.* properties.
+ * Groups are matched in order and the first matching group applies.
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxKeys = 100_000;
+    private int stripes = 16;
+    // Reverse proxies in front of the app that append to X-Forwarded-For; 0 trusts no header
+    private int trustedProxyHops = 0;
+    private List<RouteGroup> groups = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getTrustedProxyHops() {
+        return trustedProxyHops;
+    }
+
+    public void setTrustedProxyHops(int trustedProxyHops) {
+        this.trustedProxyHops = trustedProxyHops;
+    }
+
+    public List<RouteGroup> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<RouteGroup> groups) {
+        this.groups = groups;
+    }
+
+    public static class RouteGroup {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        private long capacity = 60;
+        private long refillPerSecond = 1;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(long refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
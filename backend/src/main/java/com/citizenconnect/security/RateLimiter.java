@@ -0,0 +1,108 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.metrics.MetricsSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped registry of token buckets keyed by route group and client.
+ * Each stripe holds at most maxKeys / stripes buckets. When a stripe is
+ * full, buckets that have refilled completely are dropped first (they carry
+ * no state), then arbitrary ones, so memory stays bounded no matter how many
+ * distinct clients show up.
+ */
+@Component
+public class RateLimiter implements MetricsSource {
+
+    private final List<ConcurrentHashMap<String, TokenBucket>> stripes;
+    private final int keysPerStripe;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RateLimiter(RateLimitProperties properties) {
+        int stripeCount = Math.max(1, properties.getStripes());
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        this.keysPerStripe = Math.max(1, properties.getMaxKeys() / stripeCount);
+    }
+
+    /**
+     * Takes a token for the client in the given group. Returns 0 when the
+     * request may proceed, otherwise the suggested wait in milliseconds.
+     */
+    public long tryAcquire(RateLimitProperties.RouteGroup group, String clientKey) {
+        String key = group.getName() + '|' + clientKey;
+        ConcurrentHashMap<String, TokenBucket> stripe =
+                stripes.get((key.hashCode() & Integer.MAX_VALUE) % stripes.size());
+        long now = System.currentTimeMillis();
+
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= keysPerStripe) {
+                shrink(stripe, now);
+            }
+            bucket = stripe.computeIfAbsent(key,
+                    k -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), now));
+        }
+
+        long waitMillis = bucket.tryConsume(now);
+        if (waitMillis == 0) {
+            allowed.increment();
+        } else {
+            rejected.increment();
+        }
+        return waitMillis;
+    }
+
+    private void shrink(ConcurrentHashMap<String, TokenBucket> stripe, long now) {
+        int target = keysPerStripe - Math.max(1, keysPerStripe / 10);
+        Iterator<TokenBucket> it = stripe.values().iterator();
+        while (it.hasNext() && stripe.size() > target) {
+            if (it.next().isFull(now)) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+        it = stripe.values().iterator();
+        while (it.hasNext() && stripe.size() > target) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "rateLimiter";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("buckets", size());
+        metrics.put("maxBuckets", keysPerStripe * stripes.size());
+        metrics.put("allowed", allowed.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,65 @@
+package com.citizenconnect.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The refill timestamp and the remaining tokens are
+ * packed into one long so a take is a single compare-and-set.
+ * Tokens are tracked in thousandths, which keeps per-millisecond refill exact.
+ */
+class TokenBucket {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long UNIT = 1000;
+    // Timestamps are stored relative to class load so they fit in the upper 40 bits
+    private static final long EPOCH = System.currentTimeMillis();
+    static final long MAX_CAPACITY = TOKEN_MASK / UNIT;
+
+    private final long capacityMilli;
+    private final long refillPerSecond;
+    private final AtomicLong state;
+
+    TokenBucket(long capacity, long refillPerSecond, long nowMillis) {
+        this.capacityMilli = Math.min(capacity, MAX_CAPACITY) * UNIT;
+        this.refillPerSecond = refillPerSecond;
+        this.state = new AtomicLong(pack(nowMillis, capacityMilli));
+    }
+
+    /**
+     * Takes one token. Returns 0 when allowed, otherwise the number of
+     * milliseconds until a token becomes available.
+     */
+    long tryConsume(long nowMillis) {
+        while (true) {
+            long current = state.get();
+            long available = available(current, nowMillis);
+            if (available < UNIT) {
+                return Math.max(1, (UNIT - available + refillPerSecond - 1) / Math.max(1, refillPerSecond));
+            }
+            if (state.compareAndSet(current, pack(nowMillis, available - UNIT))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket carries no state worth keeping and can be dropped.
+     */
+    boolean isFull(long nowMillis) {
+        return available(state.get(), nowMillis) >= capacityMilli;
+    }
+
+    private long available(long packed, long nowMillis) {
+        long last = (packed >>> TOKEN_BITS) + EPOCH;
+        long tokens = packed & TOKEN_MASK;
+        long elapsed = Math.max(0, nowMillis - last);
+        // refillPerSecond tokens per second == refillPerSecond thousandths per millisecond
+        long refill = elapsed > capacityMilli / Math.max(1, refillPerSecond) ? capacityMilli : elapsed * refillPerSecond;
+        return Math.min(capacityMilli, tokens + refill);
+    }
+
+    private static long pack(long nowMillis, long tokens) {
+        return ((nowMillis - EPOCH) << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,197 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.entity.RevokedToken;
+import com.citizenconnect.entity.TokenCutoff;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.RevokedTokenRepository;
+import com.citizenconnect.repository.TokenCutoffRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revocation list for issued JWTs. Revoked jti values are stored in the
+ * revoked_tokens table and mirrored into an in-memory Bloom filter, so the
+ * common case (token not revoked) is answered without a database call. Only
+ * Bloom positives fall through to an exact lookup. The filter is rebuilt at
+ * startup and periodically, which also drops tokens that have since expired.
+ *
+ * Besides single jtis, a subject can have a cutoff: every token of that
+ * subject issued up to the cutoff is rejected, with or without a jti. Cutoffs
+ * are recorded when a user's role, enabled flag or account changes, since
+ * those are embedded in the token, and when a token issued before jtis were
+ * added is logged out, since it cannot be named individually.
+ */
+@Service
+public class TokenRevocationService implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenCutoffRepository tokenCutoffRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Revocations made while a rebuild is reading the table, replayed into the new filter
+    private final Map<String, Long> recentRevocations = new ConcurrentHashMap<>();
+    // Subject -> cutoff; small, and entries leave once every token they cover has expired
+    private final Map<String, Cutoff> subjectCutoffs = new ConcurrentHashMap<>();
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder revocations = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            TokenCutoffRepository tokenCutoffRepository,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenCutoffRepository = tokenCutoffRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revocation check for a verified token: against its subject's cutoff,
+     * then by jti when it has one.
+     */
+    public boolean isRevoked(Claims claims) {
+        return isIssuedBeforeCutoff(claims) || isRevoked(claims.getId());
+    }
+
+    private boolean isIssuedBeforeCutoff(Claims claims) {
+        Cutoff cutoff = subjectCutoffs.get(claims.getSubject());
+        if (cutoff == null) {
+            return false;
+        }
+        // iat has second precision, so a token from the cutoff's own second is rejected too
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() <= cutoff.revokedBefore();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        exactLookups.increment();
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        if (!revoked) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    @Transactional
+    public void revoke(String jti, Long userId, Date expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, userId, expiry));
+        }
+        recentRevocations.put(jti, System.currentTimeMillis());
+        filter.put(jti);
+        revocations.increment();
+    }
+
+    /**
+     * Revokes every token of {@code subject} issued up to now. Such tokens
+     * outlive the cutoff by at most {@code expiresAt}.
+     */
+    @Transactional
+    public void revokeIssuedBefore(String subject, Date expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        tokenCutoffRepository.save(new TokenCutoff(subject, now, expiry));
+        subjectCutoffs.merge(subject, new Cutoff(toMillis(now), expiresAt.getTime()), Cutoff::later);
+        revocations.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Purges expired rows and rebuilds the filter from the remaining ones.
+     * Bloom filters cannot delete, so this is how expired jtis leave memory.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active.size() * 2L), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+        // Replayed after the swap so nothing revoked mid-rebuild lands only in the old filter
+        recentRevocations.keySet().forEach(rebuilt::put);
+        recentRevocations.values().removeIf(revokedAt -> revokedAt < startedAt);
+
+        // Cutoffs are merged in place, so one saved concurrently is never lost
+        tokenCutoffRepository.deleteExpired(now);
+        for (TokenCutoff cutoff : tokenCutoffRepository.findActive(now)) {
+            subjectCutoffs.merge(cutoff.getSubject(),
+                    new Cutoff(toMillis(cutoff.getRevokedBefore()), toMillis(cutoff.getExpiresAt())), Cutoff::later);
+        }
+        subjectCutoffs.values().removeIf(cutoff -> cutoff.expiresAt() <= startedAt);
+
+        log.info("Token revocation filter rebuilt with {} active entries ({} expired purged)", active.size(), purged);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "tokenRevocation";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("checks", checks.sum());
+        metrics.put("exactLookups", exactLookups.sum());
+        metrics.put("falsePositives", falsePositives.sum());
+        metrics.put("revocations", revocations.sum());
+        metrics.put("subjectCutoffs", subjectCutoffs.size());
+        metrics.put("filterBits", filter.getBitCount());
+        metrics.put("filterHashes", filter.getHashCount());
+        return metrics;
+    }
+
+    private record Cutoff(long revokedBefore, long expiresAt) {
+        Cutoff later(Cutoff other) {
+            return other.revokedBefore > revokedBefore ? other : this;
+        }
+    }
+}
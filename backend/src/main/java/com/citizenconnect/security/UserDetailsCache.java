@@ -0,0 +1,123 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache with TTL in front of the per-request user lookup.
+ * Only password-less principals are stored. UserService evicts entries on
+ * every role, status, profile or delete mutation so revocation is immediate;
+ * the TTL only bounds staleness for changes made outside the application.
+ */
+@Component
+public class UserDetailsCache implements MetricsSource {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder explicitEvictions = new LongAdder();
+
+    public UserDetailsCache(@Value("${security.user-cache.max-size:5000}") int maxSize,
+            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public UserPrincipal get(String email) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.principal;
+                }
+                entries.remove(email);
+                expiredEvictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(UserPrincipal principal) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(principal.getUsername(), new Entry(principal, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.remove(email) != null) {
+                explicitEvictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            explicitEvictions.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "userDetailsCache";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        synchronized (entries) {
+            metrics.put("size", entries.size());
+        }
+        metrics.put("maxSize", maxSize);
+        metrics.put("hits", hitCount);
+        metrics.put("misses", missCount);
+        metrics.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        metrics.put("sizeEvictions", sizeEvictions.sum());
+        metrics.put("expiredEvictions", expiredEvictions.sum());
+        metrics.put("explicitEvictions", explicitEvictions.sum());
+        return metrics;
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
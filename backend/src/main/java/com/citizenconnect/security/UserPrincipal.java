@@ -0,0 +1,112 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.entity.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Lightweight authenticated principal carrying the user's id and role so
+ * request handling can answer "who is calling" without touching the database.
+ */
+public class UserPrincipal implements UserDetails {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_ENABLED = "enabled";
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final Role role;
+    private final boolean enabled;
+    private final Collection<? extends GrantedAuthority> authorities;
+    // Entity the principal was loaded from; only set on the login path
+    private final transient User user;
+
+    public UserPrincipal(Long id, String email, String password, Role role, boolean enabled) {
+        this(id, email, password, role, enabled, null);
+    }
+
+    private UserPrincipal(Long id, String email, String password, Role role, boolean enabled, User user) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        this.user = user;
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.isEnabled(),
+                user);
+    }
+
+    /**
+     * Rebuilds the principal from a verified token, or returns null when the
+     * token predates the id/role claims and the user has to be loaded instead.
+     */
+    public static UserPrincipal fromClaims(Claims claims) {
+        Long id = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Boolean enabled = claims.get(CLAIM_ENABLED, Boolean.class);
+        if (id == null || role == null) {
+            return null;
+        }
+        return new UserPrincipal(id, claims.getSubject(), null, Role.valueOf(role),
+                enabled == null || enabled);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
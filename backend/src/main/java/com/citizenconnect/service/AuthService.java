@@ -0,0 +1,98 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.dto.LoginRequest;
+import com.citizenconnect.dto.LoginResponse;
+import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.security.JwtTokenProvider;
+import com.citizenconnect.security.TokenRevocationService;
+import com.citizenconnect.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Login pipeline. Authentication loads the user exactly once and the
+ * response is built from that same entity. Password checks run on a small
+ * bounded pool so a login spike cannot occupy every request thread; when
+ * the pool and its queue are full the login is rejected with 503.
+ */
+@Service
+public class AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ThreadPoolTaskExecutor loginExecutor;
+
+    public AuthService(AuthenticationManager authenticationManager, JwtTokenProvider jwtTokenProvider,
+            UserService userService, TokenRevocationService tokenRevocationService,
+            @Value("${auth.login-executor.pool-size:4}") int poolSize,
+            @Value("${auth.login-executor.queue-capacity:100}") int queueCapacity) {
+        this.authenticationManager = authenticationManager;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+
+        this.loginExecutor = new ThreadPoolTaskExecutor();
+        loginExecutor.setCorePoolSize(poolSize);
+        loginExecutor.setMaxPoolSize(poolSize);
+        loginExecutor.setQueueCapacity(queueCapacity);
+        loginExecutor.setThreadNamePrefix("login-");
+        loginExecutor.initialize();
+    }
+
+    public CompletableFuture<LoginResponse> loginAsync(LoginRequest request) {
+        return CompletableFuture.supplyAsync(() -> login(request), loginExecutor);
+    }
+
+    public LoginResponse login(LoginRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String token = jwtTokenProvider.generateToken(authentication);
+        return new LoginResponse(token, userService.mapToDTO(principal.getUser()));
+    }
+
+    /**
+     * Revokes the presented token so it is rejected for the rest of its lifetime.
+     * A token without a jti cannot be named on its own, so logging it out
+     * revokes all of the user's tokens issued up to now.
+     */
+    public void logout(String token) {
+        Claims claims = token != null ? jwtTokenProvider.resolveClaims(token) : null;
+        if (claims == null) {
+            throw new BadRequestException("A valid token is required to log out");
+        }
+        if (claims.getId() != null) {
+            tokenRevocationService.revoke(claims.getId(), claims.get("uid", Long.class), claims.getExpiration());
+        } else {
+            tokenRevocationService.revokeIssuedBefore(claims.getSubject(), jwtTokenProvider.maxExpiryFromNow());
+        }
+        jwtTokenProvider.evictFromCache(token);
+    }
+
+    /**
+     * Forced revocation by jti. The exact expiry is unknown here, so the row is
+     * kept for the maximum token lifetime.
+     */
+    public void revoke(String jti) {
+        if (jti == null || jti.isBlank()) {
+            throw new BadRequestException("jti is required");
+        }
+        tokenRevocationService.revoke(jti, null, jwtTokenProvider.maxExpiryFromNow());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loginExecutor.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recomputes issues.comment_count from the comments table and repairs any
+ * drift (manual deletes, cascades, failed transactions). Works through the
+ * table in id ranges, one short transaction per range, so it never holds
+ * row locks on the whole table.
+ */
+@Service
+public class CommentCountReconciler implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private final IssueRepository issueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long chunkSize;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder rowsRepaired = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public CommentCountReconciler(IssueRepository issueRepository, PlatformTransactionManager transactionManager,
+            @Value("${issues.comment-count.reconcile-chunk-size:1000}") long chunkSize) {
+        this.issueRepository = issueRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // Also backfills the column the first time it is added to an existing table
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${issues.comment-count.reconcile-interval-ms:3600000}",
+            initialDelayString = "${issues.comment-count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        Long maxId = issueRepository.findMaxId();
+        int repaired = 0;
+        if (maxId != null) {
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = fromId + chunkSize - 1;
+                Integer updated = transactionTemplate.execute(tx -> issueRepository.reconcileCommentCounts(from, to));
+                repaired += updated != null ? updated : 0;
+            }
+        }
+        runs.increment();
+        rowsRepaired.add(repaired);
+        lastRunMillis.set(System.currentTimeMillis() - started);
+        if (repaired > 0) {
+            log.warn("Comment counter reconciliation repaired {} issues", repaired);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "commentCountReconciler";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("runs", runs.sum());
+        metrics.put("rowsRepaired", rowsRepaired.sum());
+        metrics.put("lastRunMillis", lastRunMillis.get());
+        return metrics;
+    }
+}
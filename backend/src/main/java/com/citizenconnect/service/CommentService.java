@@ -2,18 +2,35 @@ package com.citizenconnect.service;
 
 import com.citizenconnect.dto.CommentDTO;
 import com.citizenconnect.dto.CreateCommentRequest;
+import com.citizenconnect.dto.CursorPage;
+import com.citizenconnect.dto.KeysetCursor;
 import com.citizenconnect.entity.Comment;
 import com.citizenconnect.entity.Issue;
 import com.citizenconnect.entity.User;
+import com.citizenconnect.event.CommentEvent;
+import com.citizenconnect.exception.BadRequestException;
 import com.citizenconnect.exception.ResourceNotFoundException;
 import com.citizenconnect.exception.UnauthorizedException;
+import com.citizenconnect.repository.ArchivedCommentRepository;
 import com.citizenconnect.repository.CommentRepository;
 import com.citizenconnect.repository.IssueRepository;
 import com.citizenconnect.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,14 +38,38 @@ import java.util.stream.Collectors;
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentService(CommentRepository commentRepository, IssueRepository issueRepository,
-            UserRepository userRepository) {
+    @Value("${comments.cursor.default-size:20}")
+    private int defaultCursorPageSize;
+
+    @Value("${comments.cursor.max-size:100}")
+    private int maxCursorPageSize;
+
+    // Upper bound on comments returned by the non-paginated list endpoint
+    @Value("${comments.list.max-results:500}")
+    private int maxListResults;
+
+    @Value("${comments.preview.default-size:3}")
+    private int defaultPreviewSize;
+
+    @Value("${comments.preview.max-size:10}")
+    private int maxPreviewSize;
+
+    @Value("${comments.preview.max-issues:100}")
+    private int maxPreviewIssues;
+
+    public CommentService(CommentRepository commentRepository, ArchivedCommentRepository archivedCommentRepository,
+            IssueRepository issueRepository, UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
         this.issueRepository = issueRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public CommentDTO createComment(Long issueId, CreateCommentRequest request, Long userId) {
@@ -44,14 +85,116 @@ public class CommentService {
         comment.setUser(user);
 
         Comment savedComment = commentRepository.save(comment);
+        issueRepository.incrementCommentCount(issueId, LocalDateTime.now());
+        eventPublisher.publishEvent(new CommentEvent(issueId, 1));
         return mapToDTO(savedComment);
     }
 
+    /**
+     * The first comments of an issue, oldest first, capped at
+     * comments.list.max-results. When the thread is longer, the page carries
+     * an ASC cursor to continue from with the cursor endpoint.
+     */
     @Transactional(readOnly = true)
-    public List<CommentDTO> getCommentsByIssue(Long issueId) {
-        return commentRepository.findByIssueIdOrderByCreatedAtAsc(issueId).stream()
-                .map(this::mapToDTO)
+    public CursorPage<CommentDTO> getCommentsByIssue(Long issueId) {
+        Pageable probe = PageRequest.of(0, maxListResults + 1);
+        List<CommentDTO> comments = commentRepository.findDtosByIssue(issueId, probe);
+        // Comments move to the archive with their issue
+        if (comments.isEmpty() && !issueRepository.existsById(issueId)) {
+            comments = archivedCommentRepository.findDtosByIssue(issueId, probe);
+        }
+        return toPage(comments, maxListResults, Sort.Direction.ASC);
+    }
+
+    /**
+     * Keyset-paginated comments of an issue, oldest first for ASC and newest
+     * first for DESC, read from the archive once the issue has been archived.
+     * A cursor continues in the direction it was issued for.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> getCommentsPage(Long issueId, Sort.Direction direction, String cursor,
+            Integer size) {
+        CursorPage<CommentDTO> page = getCommentsPage(issueId, false, direction, cursor, size);
+        if (page.getItems().isEmpty() && !issueRepository.existsById(issueId)) {
+            return getCommentsPage(issueId, true, direction, cursor, size);
+        }
+        return page;
+    }
+
+    /**
+     * One comment page from the table the caller already knows the issue is
+     * in; a single statement either way.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> getCommentsPage(Long issueId, boolean archived, Sort.Direction direction,
+            String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor, direction);
+        LocalDateTime createdAt = position != null ? position.getCreatedAt() : null;
+        Long id = position != null ? position.getId() : null;
+        int pageSize = size == null || size <= 0 ? defaultCursorPageSize : Math.min(size, maxCursorPageSize);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+
+        List<CommentDTO> comments;
+        if (direction == Sort.Direction.DESC) {
+            comments = archived
+                    ? archivedCommentRepository.findDtoPageBefore(issueId, createdAt, id, probe)
+                    : commentRepository.findDtoPageBefore(issueId, createdAt, id, probe);
+        } else {
+            comments = archived
+                    ? archivedCommentRepository.findDtoPageAfter(issueId, createdAt, id, probe)
+                    : commentRepository.findDtoPageAfter(issueId, createdAt, id, probe);
+        }
+        return toPage(comments, pageSize, direction);
+    }
+
+    // Comments were read with one extra row as a probe for whether there is more
+    private static CursorPage<CommentDTO> toPage(List<CommentDTO> comments, int pageSize, Sort.Direction direction) {
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            CommentDTO last = comments.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId(), direction);
+        }
+        return new CursorPage<>(comments, nextCursor);
+    }
+
+    /**
+     * The latest comments of each requested issue, newest first, for feed
+     * previews. Two statements for any number of issues: one picks the
+     * comment ids per issue from the index, one reads them with their
+     * authors. Issues that got no comments that way may have been archived,
+     * so the same two statements then run over the archive for just those.
+     * Issues without comments map to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<CommentDTO>> getLatestComments(Collection<Long> issueIds, Integer limit) {
+        Set<Long> ids = new LinkedHashSet<>(issueIds);
+        if (ids.size() > maxPreviewIssues) {
+            throw new BadRequestException("At most " + maxPreviewIssues + " issues can be previewed at once");
+        }
+        int perIssue = limit == null || limit <= 0 ? defaultPreviewSize : Math.min(limit, maxPreviewSize);
+        Map<Long, List<CommentDTO>> previews = new LinkedHashMap<>();
+        ids.forEach(id -> previews.put(id, new ArrayList<>()));
+        if (ids.isEmpty()) {
+            return previews;
+        }
+        List<Long> commentIds = commentRepository.findLatestIdsByIssues(ids, perIssue);
+        if (!commentIds.isEmpty()) {
+            commentRepository.findDtosByIdsNewestFirst(commentIds)
+                    .forEach(comment -> previews.get(comment.getIssueId()).add(comment));
+        }
+        List<Long> withoutComments = previews.entrySet().stream()
+                .filter(entry -> entry.getValue().isEmpty())
+                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
+        if (!withoutComments.isEmpty()) {
+            List<Long> archivedIds = archivedCommentRepository.findLatestIdsByIssues(withoutComments, perIssue);
+            if (!archivedIds.isEmpty()) {
+                archivedCommentRepository.findDtosByIdsNewestFirst(archivedIds)
+                        .forEach(comment -> previews.get(comment.getIssueId()).add(comment));
+            }
+        }
+        return previews;
     }
 
     @Transactional(readOnly = true)
@@ -86,7 +229,9 @@ public class CommentService {
         if (!isModeratorOrAdmin && !comment.getUser().getId().equals(userId)) {
             throw new UnauthorizedException("You can only delete your own comments");
         }
-        commentRepository.deleteById(id);
+        commentRepository.delete(comment);
+        issueRepository.decrementCommentCount(comment.getIssue().getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(new CommentEvent(comment.getIssue().getId(), -1));
     }
 
     private CommentDTO mapToDTO(Comment comment) {
@@ -0,0 +1,237 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.dto.BulkIssueRequest;
+import com.citizenconnect.dto.BulkResultDTO;
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.exception.ResourceNotFoundException;
+import com.citizenconnect.notification.NotificationOutbox;
+import com.citizenconnect.repository.CommentRepository;
+import com.citizenconnect.repository.IssueRepository;
+import com.citizenconnect.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk triage operations. Each call loads the requested issues in one query,
+ * applies the change with one set-based statement and publishes the same
+ * per-issue events as the single-issue paths, so the round-trip count does
+ * not depend on how many ids are sent. Status changes follow the IssueStatus
+ * transition rules and are compare-and-set per previous status (assignments
+ * per previous status and assignee), so an issue changed concurrently is
+ * reported as CONFLICT rather than overwritten.
+ */
+@Service
+@Transactional
+public class IssueBulkService {
+
+    private final IssueRepository issueRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${issues.bulk.max-ids:500}")
+    private int maxIds;
+
+    public IssueBulkService(IssueRepository issueRepository, UserRepository userRepository,
+            CommentRepository commentRepository, NotificationOutbox notificationOutbox,
+            ApplicationEventPublisher eventPublisher) {
+        this.issueRepository = issueRepository;
+        this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkResultDTO assign(BulkIssueRequest request) {
+        if (request.getPoliticianId() == null) {
+            throw new BadRequestException("politicianId is required");
+        }
+        User politician = userRepository.findById(request.getPoliticianId())
+                .orElseThrow(() -> new ResourceNotFoundException("Politician", "id", request.getPoliticianId()));
+        if (politician.getRole() != Role.POLITICIAN) {
+            throw new BadRequestException("Can only assign issues to politicians");
+        }
+
+        Set<Long> ids = distinctIds(request);
+        Map<Long, Issue> found = load(ids);
+        // A closed issue has to be reopened before it can be assigned
+        Predicate<Issue> assignable = issue -> issue.getStatus() == IssueStatus.IN_PROGRESS
+                || issue.getStatus().canTransitionTo(IssueStatus.IN_PROGRESS);
+        List<Issue> rejected = new ArrayList<>(select(found, assignable.negate()));
+        List<Issue> candidates = select(found, issue -> assignable.test(issue)
+                && (issue.getAssignedPolitician() == null
+                || !issue.getAssignedPolitician().getId().equals(politician.getId())
+                || issue.getStatus() != IssueStatus.IN_PROGRESS));
+        List<Issue> changed = new ArrayList<>();
+
+        if (!candidates.isEmpty()) {
+            // Truncated to the column precision so findIdsUpdatedAt can match it exactly
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Map<Assignment, List<Issue>> byPrevious = candidates.stream()
+                    .collect(Collectors.groupingBy(Assignment::of));
+            for (Map.Entry<Assignment, List<Issue>> group : byPrevious.entrySet()) {
+                List<Long> groupIds = idsOf(group.getValue());
+                Assignment previous = group.getKey();
+                int updated = previous.politicianId() != null
+                        ? issueRepository.bulkAssign(groupIds, previous.status(), previous.politicianId(),
+                                politician, IssueStatus.IN_PROGRESS, now)
+                        : issueRepository.bulkAssignUnassigned(groupIds, previous.status(), politician,
+                                IssueStatus.IN_PROGRESS, now);
+                addApplied(group.getValue(), groupIds, updated, IssueStatus.IN_PROGRESS, now, changed);
+            }
+            // Entities are detached by the bulk update; bring them in line for the events
+            for (Issue issue : changed) {
+                IssueStatus previousStatus = issue.getStatus();
+                Long previousPoliticianId = issue.getAssignedPolitician() != null
+                        ? issue.getAssignedPolitician().getId() : null;
+                issue.setAssignedPolitician(politician);
+                issue.setStatus(IssueStatus.IN_PROGRESS);
+                issue.setUpdatedAt(now);
+                eventPublisher.publishEvent(IssueEvent.updated(issue, previousStatus, previousPoliticianId));
+            }
+            if (!changed.isEmpty()) {
+                notificationOutbox.bulkAssigned(politician.getEmail(),
+                        changed.stream().map(Issue::getTitle).collect(Collectors.toList()));
+            }
+            // Assignable issues that lost a race to a concurrent change
+            Set<Long> changedIds = new HashSet<>(idsOf(changed));
+            candidates.stream().filter(issue -> !changedIds.contains(issue.getId())).forEach(rejected::add);
+        }
+        return outcomes(ids, found, changed, rejected, BulkResultDTO.Outcome.UPDATED);
+    }
+
+    public BulkResultDTO updateStatus(BulkIssueRequest request) {
+        IssueStatus status = request.getStatus();
+        if (status == null) {
+            throw new BadRequestException("status is required");
+        }
+
+        Set<Long> ids = distinctIds(request);
+        Map<Long, Issue> found = load(ids);
+        List<Issue> candidates = select(found, issue -> issue.getStatus().canTransitionTo(status));
+        List<Issue> changed = new ArrayList<>();
+
+        if (!candidates.isEmpty()) {
+            // Truncated to the column precision so findIdsUpdatedAt can match it exactly
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            boolean finished = status.isFinished();
+            Map<IssueStatus, List<Issue>> byPreviousStatus = candidates.stream()
+                    .collect(Collectors.groupingBy(Issue::getStatus));
+            for (Map.Entry<IssueStatus, List<Issue>> group : byPreviousStatus.entrySet()) {
+                List<Long> groupIds = idsOf(group.getValue());
+                int updated = finished
+                        ? issueRepository.bulkUpdateStatusResolved(groupIds, group.getKey(), status, now)
+                        : issueRepository.bulkUpdateStatus(groupIds, group.getKey(), status, now);
+                addApplied(group.getValue(), groupIds, updated, status, now, changed);
+            }
+            for (Issue issue : changed) {
+                IssueStatus previousStatus = issue.getStatus();
+                Long politicianId = issue.getAssignedPolitician() != null ? issue.getAssignedPolitician().getId() : null;
+                issue.setStatus(status);
+                issue.setUpdatedAt(now);
+                if (finished) {
+                    issue.setResolvedAt(now);
+                }
+                eventPublisher.publishEvent(IssueEvent.updated(issue, previousStatus, politicianId));
+            }
+        }
+        // Illegal moves, and legal ones that lost a race to a concurrent change (changed issues
+        // already carry the new status)
+        List<Issue> rejected = select(found, issue -> issue.getStatus() != status);
+        return outcomes(ids, found, changed, rejected, BulkResultDTO.Outcome.UPDATED);
+    }
+
+    public BulkResultDTO delete(BulkIssueRequest request) {
+        Set<Long> ids = distinctIds(request);
+        Map<Long, Issue> found = load(ids);
+        List<Issue> deleted = new ArrayList<>(found.values());
+
+        if (!deleted.isEmpty()) {
+            // A JPQL delete does not cascade, so comments go first
+            List<Long> deletedIds = idsOf(deleted);
+            commentRepository.deleteByIssueIds(deletedIds);
+            issueRepository.clearDuplicateLinks(deletedIds, LocalDateTime.now());
+            issueRepository.bulkDelete(deletedIds);
+            deleted.forEach(issue -> eventPublisher.publishEvent(IssueEvent.deleted(issue)));
+        }
+        return outcomes(ids, found, deleted, List.of(), BulkResultDTO.Outcome.DELETED);
+    }
+
+    // Collects the issues of one compare-and-set group that the UPDATE actually wrote
+    private void addApplied(List<Issue> group, List<Long> groupIds, int updated, IssueStatus status,
+            LocalDateTime now, List<Issue> changed) {
+        if (updated == groupIds.size()) {
+            changed.addAll(group);
+        } else if (updated > 0) {
+            Set<Long> applied = new HashSet<>(issueRepository.findIdsUpdatedAt(groupIds, status, now));
+            group.stream().filter(issue -> applied.contains(issue.getId())).forEach(changed::add);
+        }
+    }
+
+    private Set<Long> distinctIds(BulkIssueRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.getIssueIds());
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " issues can be changed at once");
+        }
+        return ids;
+    }
+
+    private Map<Long, Issue> load(Set<Long> ids) {
+        return issueRepository.findAllWithUsersByIdIn(ids).stream()
+                .collect(Collectors.toMap(Issue::getId, Function.identity()));
+    }
+
+    private static List<Issue> select(Map<Long, Issue> found, Predicate<Issue> needsChange) {
+        return found.values().stream().filter(needsChange).collect(Collectors.toList());
+    }
+
+    private static List<Long> idsOf(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).collect(Collectors.toList());
+    }
+
+    // What a bulk assignment compares against; the politician id is null for unassigned issues
+    private record Assignment(IssueStatus status, Long politicianId) {
+
+        static Assignment of(Issue issue) {
+            return new Assignment(issue.getStatus(),
+                    issue.getAssignedPolitician() != null ? issue.getAssignedPolitician().getId() : null);
+        }
+    }
+
+    private static BulkResultDTO outcomes(Set<Long> ids, Map<Long, Issue> found, List<Issue> changed,
+            List<Issue> rejected, BulkResultDTO.Outcome changedOutcome) {
+        Set<Long> changedIds = changed.stream().map(Issue::getId).collect(Collectors.toSet());
+        Set<Long> rejectedIds = rejected.stream().map(Issue::getId).collect(Collectors.toSet());
+        BulkResultDTO result = new BulkResultDTO();
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                result.add(id, BulkResultDTO.Outcome.NOT_FOUND);
+            } else if (rejectedIds.contains(id)) {
+                result.add(id, BulkResultDTO.Outcome.CONFLICT);
+            } else {
+                result.add(id, changedIds.contains(id) ? changedOutcome : BulkResultDTO.Outcome.UNCHANGED);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,187 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.entity.ArchivedIssue;
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams issues straight from a forward-only result set to the response,
+ * one row at a time, so memory use does not grow with the size of the export.
+ * Live issues come first, then archived ones, each ordered by id, so an
+ * export covers every issue whatever the archiver has moved.
+ */
+@Service
+public class IssueExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    // Column order shared by the CSV header and the NDJSON field order
+    private static final Map<String, Function<ExportRow, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", ExportRow::id);
+        COLUMNS.put("title", ExportRow::title);
+        COLUMNS.put("description", ExportRow::description);
+        COLUMNS.put("category", ExportRow::category);
+        COLUMNS.put("location", ExportRow::location);
+        COLUMNS.put("status", ExportRow::status);
+        COLUMNS.put("citizenId", r -> r.citizen().getId());
+        COLUMNS.put("citizenName", r -> r.citizen().getFullName());
+        COLUMNS.put("assignedPoliticianId", r -> idOf(r.assignedPolitician()));
+        COLUMNS.put("assignedPoliticianName",
+                r -> r.assignedPolitician() != null ? r.assignedPolitician().getFullName() : null);
+        COLUMNS.put("response", ExportRow::response);
+        COLUMNS.put("resolutionNotes", ExportRow::resolutionNotes);
+        COLUMNS.put("commentCount", ExportRow::commentCount);
+        COLUMNS.put("createdAt", ExportRow::createdAt);
+        COLUMNS.put("updatedAt", ExportRow::updatedAt);
+        COLUMNS.put("resolvedAt", ExportRow::resolvedAt);
+    }
+
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public IssueExportService(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every matching issue, live and archived, to {@code out}. Runs its
+     * own read-only transaction because the streams have to stay open while
+     * rows are written, which happens on the async response thread rather than
+     * the request thread. Both streams read the transaction's snapshot, so an
+     * issue archived mid-export is written exactly once.
+     */
+    public long export(Format format, IssueStatus status, String category, LocalDateTime from, LocalDateTime to,
+            OutputStream out) {
+        Long written = readOnlyTransaction.execute(tx -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long rows = 0;
+            try {
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, COLUMNS.keySet().toArray());
+                }
+                // A streaming result set must be closed before the next query runs
+                try (Stream<Issue> issues = issueRepository.streamForExport(status, category, from, to)) {
+                    rows += writeRows(format, writer, issues, ExportRow::of);
+                }
+                try (Stream<ArchivedIssue> archived = archivedIssueRepository.streamForExport(status, category,
+                        from, to)) {
+                    rows += writeRows(format, writer, archived, ExportRow::of);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+        return written != null ? written : 0;
+    }
+
+    private <T> long writeRows(Format format, Writer writer, Stream<T> entities, Function<T, ExportRow> toRow)
+            throws IOException {
+        long rows = 0;
+        for (T entity : (Iterable<T>) entities::iterator) {
+            writeRow(format, writer, toRow.apply(entity));
+            // Keep the persistence context from accumulating every exported row
+            entityManager.detach(entity);
+            rows++;
+        }
+        return rows;
+    }
+
+    private void writeRow(Format format, Writer writer, ExportRow issue) throws IOException {
+        if (format == Format.CSV) {
+            Object[] values = COLUMNS.values().stream().map(column -> column.apply(issue)).toArray();
+            writeCsvRow(writer, values);
+        } else {
+            Map<String, Object> row = new LinkedHashMap<>();
+            COLUMNS.forEach((name, column) -> row.put(name, column.apply(issue)));
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Neutralise spreadsheet formulas in user-supplied text
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    // The exported fields, common to live and archived issues
+    private record ExportRow(Long id, String title, String description, String category, String location,
+            IssueStatus status, User citizen, User assignedPolitician, String response, String resolutionNotes,
+            int commentCount, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime resolvedAt) {
+
+        static ExportRow of(Issue i) {
+            return new ExportRow(i.getId(), i.getTitle(), i.getDescription(), i.getCategory(), i.getLocation(),
+                    i.getStatus(), i.getCitizen(), i.getAssignedPolitician(), i.getResponse(),
+                    i.getResolutionNotes(), i.getCommentCount(), i.getCreatedAt(), i.getUpdatedAt(),
+                    i.getResolvedAt());
+        }
+
+        static ExportRow of(ArchivedIssue i) {
+            return new ExportRow(i.getId(), i.getTitle(), i.getDescription(), i.getCategory(), i.getLocation(),
+                    i.getStatus(), i.getCitizen(), i.getAssignedPolitician(), i.getResponse(),
+                    i.getResolutionNotes(), i.getCommentCount(), i.getCreatedAt(), i.getUpdatedAt(),
+                    i.getResolvedAt());
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package com.citizenconnect.service;
 
+import com.citizenconnect.dto.CommentDTO;
 import com.citizenconnect.dto.CreateIssueRequest;
+import com.citizenconnect.dto.CursorPage;
+import com.citizenconnect.dto.DuplicateCandidateDTO;
 import com.citizenconnect.dto.IssueDTO;
+import com.citizenconnect.dto.IssueSnapshot;
+import com.citizenconnect.dto.IssueThreadDTO;
+import com.citizenconnect.dto.KeysetCursor;
 import com.citizenconnect.entity.Issue;
 import com.citizenconnect.entity.IssueStatus;
 import com.citizenconnect.entity.Role;
 import com.citizenconnect.entity.User;
+import com.citizenconnect.event.IssueEvent;
 import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.exception.ConflictException;
+import com.citizenconnect.geo.GeoHash;
+import com.citizenconnect.notification.NotificationOutbox;
 import com.citizenconnect.exception.ResourceNotFoundException;
-import com.citizenconnect.exception.UnauthorizedException;
-import com.citizenconnect.repository.CommentRepository;
+import com.citizenconnect.repository.ArchivedIssueRepository;
 import com.citizenconnect.repository.IssueRepository;
 import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.routing.IssueRouter;
+import com.citizenconnect.search.DuplicateDetectionService;
+import com.citizenconnect.search.IssueSearchIndex;
+import com.citizenconnect.search.IssueSearchService;
+import com.citizenconnect.search.MinHashIndex;
+import com.citizenconnect.workqueue.PoliticianWorkQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,16 +52,46 @@ import java.util.stream.Collectors;
 public class IssueService {
 
     private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
-    private final EmailService emailService;
-
-    public IssueService(IssueRepository issueRepository, UserRepository userRepository,
-            CommentRepository commentRepository, EmailService emailService) {
+    private final NotificationOutbox notificationOutbox;
+    private final IssueSearchService issueSearchService;
+    private final IssueStatusCounters issueStatusCounters;
+    private final PoliticianWorkQueue politicianWorkQueue;
+    private final IssueRouter issueRouter;
+    private final CommentService commentService;
+    private final IssueTransitionService issueTransitionService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Upper bound on rows returned by the non-paginated list endpoints
+    @Value("${issues.list.max-results:200}")
+    private int maxListResults;
+
+    @Value("${issues.cursor.default-size:20}")
+    private int defaultCursorPageSize;
+
+    @Value("${issues.cursor.max-size:100}")
+    private int maxCursorPageSize;
+
+    public IssueService(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository,
+            UserRepository userRepository, NotificationOutbox notificationOutbox,
+            IssueSearchService issueSearchService, IssueStatusCounters issueStatusCounters,
+            PoliticianWorkQueue politicianWorkQueue, IssueRouter issueRouter, CommentService commentService,
+            IssueTransitionService issueTransitionService, DuplicateDetectionService duplicateDetectionService,
+            ApplicationEventPublisher eventPublisher) {
         this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
         this.userRepository = userRepository;
-        this.commentRepository = commentRepository;
-        this.emailService = emailService;
+        this.notificationOutbox = notificationOutbox;
+        this.issueSearchService = issueSearchService;
+        this.issueStatusCounters = issueStatusCounters;
+        this.politicianWorkQueue = politicianWorkQueue;
+        this.issueRouter = issueRouter;
+        this.commentService = commentService;
+        this.issueTransitionService = issueTransitionService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.eventPublisher = eventPublisher;
     }
 
     public IssueDTO createIssue(CreateIssueRequest request, Long citizenId) {
@@ -52,6 +107,14 @@ public class IssueService {
         issue.setDescription(request.getDescription());
         issue.setCategory(request.getCategory());
         issue.setLocation(request.getLocation());
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BadRequestException("Latitude and longitude must be given together");
+        }
+        if (request.getLatitude() != null) {
+            issue.setLatitude(request.getLatitude());
+            issue.setLongitude(request.getLongitude());
+            issue.setGeohash(GeoHash.encode(request.getLatitude(), request.getLongitude(), GeoHash.MAX_PRECISION));
+        }
         issue.setAttachmentFileName(request.getAttachmentFileName());
         issue.setAttachmentUrl(request.getAttachmentUrl());
         issue.setStatus(IssueStatus.OPEN);
@@ -68,61 +131,143 @@ public class IssueService {
         }
 
         Issue savedIssue = issueRepository.save(issue);
-        return mapToDTO(savedIssue);
+        if (savedIssue.getAssignedPolitician() == null) {
+            // Routed after the insert so the load tracker can key its reservation by issue id
+            User routed = issueRouter.route(savedIssue);
+            if (routed != null) {
+                savedIssue.setAssignedPolitician(routed);
+                notificationOutbox.issueAssigned(routed.getEmail(), savedIssue.getTitle());
+            }
+        }
+        eventPublisher.publishEvent(IssueEvent.created(savedIssue));
+        IssueDTO dto = mapToDTO(savedIssue);
+        dto.setDuplicateCandidates(findDuplicateCandidates(savedIssue));
+        return dto;
     }
 
+    /**
+     * Live issue by id, falling back to the archive so links to old issues
+     * keep working after they are archived.
+     */
     @Transactional(readOnly = true)
     public IssueDTO getIssueById(Long id) {
-        Issue issue = issueRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", id));
-        return mapToDTO(issue);
+        return issueRepository.findById(id)
+                .map(this::mapToDTO)
+                .orElseGet(() -> archivedIssueRepository.findDtoById(id)
+                        .map(this::markArchived)
+                        .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", id)));
+    }
+
+    /**
+     * The issue with its citizen and politician names plus the first page of
+     * comments with their authors: two statements, three if the issue has
+     * been archived.
+     */
+    @Transactional(readOnly = true)
+    public IssueThreadDTO getThread(Long id, Integer commentPageSize) {
+        IssueDTO issue = issueRepository.findDtoById(id)
+                .orElseGet(() -> archivedIssueRepository.findDtoById(id)
+                        .map(this::markArchived)
+                        .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", id)));
+        CursorPage<CommentDTO> comments = commentService.getCommentsPage(id, issue.isArchived(), Sort.Direction.ASC,
+                null, commentPageSize);
+        return new IssueThreadDTO(issue, comments);
     }
 
     @Transactional(readOnly = true)
     public List<IssueDTO> getAllIssues() {
-        List<Issue> issues = issueRepository.findAllOrderByCreatedAtDesc();
-        Map<Long, Long> commentCounts = batchLoadCommentCounts(issues);
-        return issues.stream()
-                .map(i -> mapToDTO(i, commentCounts))
-                .collect(Collectors.toList());
+        return issueRepository.findDtosOrderByCreatedAtDesc(listLimit());
     }
 
     @Transactional(readOnly = true)
     public List<IssueDTO> getIssuesByCitizen(Long citizenId) {
-        List<Issue> issues = issueRepository.findByCitizenIdOrderByCreatedAtDesc(citizenId);
-        Map<Long, Long> commentCounts = batchLoadCommentCounts(issues);
-        return issues.stream()
-                .map(i -> mapToDTO(i, commentCounts))
-                .collect(Collectors.toList());
+        return issueRepository.findDtosByCitizen(citizenId, listLimit());
     }
 
     @Transactional(readOnly = true)
     public List<IssueDTO> getIssuesByPolitician(Long politicianId) {
-        List<Issue> issues = issueRepository.findByPoliticianOrderByPriority(politicianId);
-        Map<Long, Long> commentCounts = batchLoadCommentCounts(issues);
-        return issues.stream()
-                .map(i -> mapToDTO(i, commentCounts))
-                .collect(Collectors.toList());
+        return issueRepository.findDtosByPoliticianOrderByPriority(politicianId, listLimit());
     }
 
     @Transactional(readOnly = true)
     public List<IssueDTO> getIssuesByStatus(IssueStatus status) {
-        List<Issue> issues = issueRepository.findByStatus(status);
-        Map<Long, Long> commentCounts = batchLoadCommentCounts(issues);
-        return issues.stream()
-                .map(i -> mapToDTO(i, commentCounts))
-                .collect(Collectors.toList());
+        return issueRepository.findDtosByStatus(status, listLimit());
+    }
+
+    /**
+     * Keyset-paginated issue list, newest first. Optional filters are applied
+     * in order of precedence: citizen, politician, status.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getIssuesPage(Long citizenId, Long politicianId, IssueStatus status,
+            String cursor, Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        LocalDateTime createdAt = position != null ? position.getCreatedAt() : null;
+        Long id = position != null ? position.getId() : null;
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+
+        List<IssueDTO> issues;
+        if (citizenId != null) {
+            issues = issueRepository.findDtoPageByCitizenBefore(citizenId, createdAt, id, probe);
+        } else if (politicianId != null) {
+            issues = issueRepository.findDtoPageByPoliticianBefore(politicianId, createdAt, id, probe);
+        } else if (status != null) {
+            issues = issueRepository.findDtoPageByStatusBefore(status, createdAt, id, probe);
+        } else {
+            issues = issueRepository.findDtoPageBefore(createdAt, id, probe);
+        }
+
+        return toCursorPage(issues, pageSize);
+    }
+
+    /**
+     * Keyset-paginated archived issues, newest first. Optional filters are
+     * applied in order of precedence: citizen, politician.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IssueDTO> getArchivedIssuesPage(Long citizenId, Long politicianId, String cursor,
+            Integer size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        LocalDateTime createdAt = position != null ? position.getCreatedAt() : null;
+        Long id = position != null ? position.getId() : null;
+        int pageSize = resolvePageSize(size);
+        Pageable probe = PageRequest.of(0, pageSize + 1);
+
+        List<IssueDTO> issues;
+        if (citizenId != null) {
+            issues = archivedIssueRepository.findDtoPageByCitizenBefore(citizenId, createdAt, id, probe);
+        } else if (politicianId != null) {
+            issues = archivedIssueRepository.findDtoPageByPoliticianBefore(politicianId, createdAt, id, probe);
+        } else {
+            issues = archivedIssueRepository.findDtoPageBefore(createdAt, id, probe);
+        }
+        issues.forEach(this::markArchived);
+        return toCursorPage(issues, pageSize);
+    }
+
+    // Trims the size + 1 probe row and turns it into the cursor of the next page
+    private CursorPage<IssueDTO> toCursorPage(List<IssueDTO> issues, int pageSize) {
+        String nextCursor = null;
+        if (issues.size() > pageSize) {
+            issues = issues.subList(0, pageSize);
+            IssueDTO last = issues.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(issues, nextCursor);
+    }
+
+    private IssueDTO markArchived(IssueDTO dto) {
+        dto.setArchived(true);
+        return dto;
     }
 
     @Transactional(readOnly = true)
     public Page<IssueDTO> getIssuesWithPaging(IssueStatus status, Pageable pageable) {
-        return issueRepository.findByStatusWithPaging(status, pageable).map(this::mapToDTO);
+        return issueRepository.findDtosByStatusWithPaging(status, pageable);
     }
 
     public IssueDTO assignToPolitician(Long issueId, Long politicianId, Long assignerId) {
-        Issue issue = issueRepository.findById(issueId)
-                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
-
         User politician = userRepository.findById(politicianId)
                 .orElseThrow(() -> new ResourceNotFoundException("Politician", "id", politicianId));
 
@@ -130,70 +275,119 @@ public class IssueService {
             throw new BadRequestException("Can only assign issues to politicians");
         }
 
-        issue.setAssignedPolitician(politician);
-        issue.setStatus(IssueStatus.IN_PROGRESS);
-        Issue updatedIssue = issueRepository.save(issue);
-
-        emailService.sendIssueAssignmentNotification(politician.getEmail(), issue.getTitle());
-        return mapToDTO(updatedIssue);
+        IssueSnapshot before = issueTransitionService.assign(issueId, politician);
+        notificationOutbox.issueAssigned(politician.getEmail(), before.getTitle());
+        return findLiveDto(issueId);
     }
 
+    // Status, assignment and duplicate-link changes go through IssueTransitionService as conditional
+    // UPDATEs; the DTO is read afterwards
     public IssueDTO respondToIssue(Long issueId, String response, Long politicianId) {
-        Issue issue = issueRepository.findById(issueId)
-                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
+        IssueSnapshot issue = issueTransitionService.respond(issueId, response, politicianId);
+        notificationOutbox.issueResponse(issue.getCitizenEmail(), issue.getTitle(), response);
+        return findLiveDto(issueId);
+    }
 
-        if (issue.getAssignedPolitician() == null || !issue.getAssignedPolitician().getId().equals(politicianId)) {
-            throw new UnauthorizedException("You are not assigned to this issue");
-        }
+    public IssueDTO resolveIssue(Long issueId, String resolutionNotes, Long politicianId) {
+        issueTransitionService.resolve(issueId, resolutionNotes, politicianId);
+        return findLiveDto(issueId);
+    }
 
-        issue.setResponse(response);
-        issue.setStatus(IssueStatus.IN_PROGRESS);
-        Issue updatedIssue = issueRepository.save(issue);
+    public IssueDTO updateIssueStatus(Long issueId, IssueStatus status) {
+        issueTransitionService.changeStatus(issueId, status);
+        return findLiveDto(issueId);
+    }
 
-        emailService.sendIssueResponseNotification(issue.getCitizen().getEmail(), issue.getTitle(), response);
-        return mapToDTO(updatedIssue);
+    private IssueDTO findLiveDto(Long issueId) {
+        return issueRepository.findDtoById(issueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
     }
 
-    public IssueDTO resolveIssue(Long issueId, String resolutionNotes, Long politicianId) {
+    public void deleteIssue(Long issueId) {
         Issue issue = issueRepository.findById(issueId)
                 .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
-
-        if (issue.getAssignedPolitician() == null || !issue.getAssignedPolitician().getId().equals(politicianId)) {
-            throw new UnauthorizedException("You are not assigned to this issue");
-        }
-
-        issue.setResolutionNotes(resolutionNotes);
-        issue.setStatus(IssueStatus.RESOLVED);
-        issue.setResolvedAt(LocalDateTime.now());
-
-        Issue updatedIssue = issueRepository.save(issue);
-        return mapToDTO(updatedIssue);
+        issueRepository.clearDuplicateLinks(List.of(issueId), LocalDateTime.now());
+        issueRepository.delete(issue);
+        eventPublisher.publishEvent(IssueEvent.deleted(issue));
     }
 
-    public IssueDTO updateIssueStatus(Long issueId, IssueStatus status) {
+    /**
+     * Likely duplicates of an existing issue, from the MinHash index.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidateDTO> getDuplicateCandidates(Long issueId) {
         Issue issue = issueRepository.findById(issueId)
                 .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
+        return findDuplicateCandidates(issue);
+    }
 
-        issue.setStatus(status);
-        if (status == IssueStatus.RESOLVED || status == IssueStatus.CLOSED) {
-            issue.setResolvedAt(LocalDateTime.now());
+    /**
+     * Links an issue to the report it duplicates. Links always point at the
+     * original (root) report: a target that is itself a duplicate is followed
+     * to its root, and issues already linked to this one move along with it.
+     * With {@code close}, an issue that is still active is also closed; it is
+     * not counted as a resolution, so resolvedAt stays unset.
+     */
+    public IssueDTO markDuplicate(Long issueId, Long targetId, boolean close) {
+        IssueSnapshot target = issueRepository.findSnapshot(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", targetId));
+        Long rootId = target.getDuplicateOfId() != null ? target.getDuplicateOfId() : target.getId();
+        if (rootId.equals(issueId)) {
+            throw new BadRequestException("An issue cannot be a duplicate of itself");
         }
-        Issue updatedIssue = issueRepository.save(issue);
-        return mapToDTO(updatedIssue);
+
+        issueTransitionService.markDuplicate(issueId, rootId, close);
+        issueRepository.repointDuplicates(issueId, rootId, LocalDateTime.now());
+        return findLiveDto(issueId);
     }
 
-    public void deleteIssue(Long issueId) {
-        if (!issueRepository.existsById(issueId)) {
-            throw new ResourceNotFoundException("Issue", "id", issueId);
+    public IssueDTO unmarkDuplicate(Long issueId) {
+        issueTransitionService.unmarkDuplicate(issueId);
+        return findLiveDto(issueId);
+    }
+
+    /**
+     * Ranked full-text search served from the in-memory index. Until the index
+     * has finished loading, falls back to the unranked LIKE query.
+     */
+    @Transactional(readOnly = true)
+    public Page<IssueDTO> searchIssues(String keyword, int page, int size) {
+        int pageSize = resolvePageSize(size);
+        int pageNumber = Math.max(page, 0);
+        if ((long) (pageNumber + 1) * pageSize > issueSearchService.getMaxResults()) {
+            throw new BadRequestException("Search results are limited to the first "
+                    + issueSearchService.getMaxResults() + "; refine the keywords instead of paging further");
+        }
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+
+        if (!issueSearchService.isReady()) {
+            return issueRepository.searchDtosByKeyword(keyword, pageable);
         }
-        issueRepository.deleteById(issueId);
+
+        IssueSearchIndex.SearchResult result = issueSearchService.search(keyword, pageNumber, pageSize);
+        return new PageImpl<>(findDtosInOrder(result.getIssueIds()), pageable, result.getTotalMatches());
     }
 
+    /**
+     * The politician's highest-priority unclaimed active issues, best first.
+     */
     @Transactional(readOnly = true)
-    public List<IssueDTO> searchIssues(String keyword) {
-        return issueRepository.searchByKeyword(keyword).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<IssueDTO> getWorkQueue(Long politicianId, Integer limit) {
+        return findDtosInOrder(politicianWorkQueue.next(politicianId, resolvePageSize(limit)));
+    }
+
+    /**
+     * Claims the politician's top unclaimed issue, moving it to IN_PROGRESS if
+     * it was still open. Returns null when the queue is empty.
+     */
+    public IssueDTO claimNextIssue(Long politicianId) {
+        Long issueId = politicianWorkQueue.claim(politicianId);
+        if (issueId == null) {
+            return null;
+        }
+        // Someone else may have moved the issue since it was queued; it is handed out as it is then
+        issueTransitionService.tryChangeStatus(issueId, IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+        return findLiveDto(issueId);
     }
 
     @Transactional(readOnly = true)
@@ -202,29 +396,102 @@ public class IssueService {
     }
 
     /**
-     * Loads comment counts for a list of issues in a SINGLE query (avoids N+1).
+     * Dashboard status totals, read from the live in-memory counters. Runs
+     * outside a transaction so the common path does not borrow a connection;
+     * only falls back to COUNT queries before the counters are seeded.
      */
-    private Map<Long, Long> batchLoadCommentCounts(List<Issue> issues) {
-        if (issues.isEmpty()) return Map.of();
-        List<Long> ids = issues.stream().map(Issue::getId).collect(Collectors.toList());
-        return issueRepository.countCommentsByIssueIds(ids).stream()
-                .collect(Collectors.toMap(
-                        row -> (Long) row[0],
-                        row -> (Long) row[1]
-                ));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Long> getStatusStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("open", statusCount(IssueStatus.OPEN));
+        stats.put("inProgress", statusCount(IssueStatus.IN_PROGRESS));
+        stats.put("resolved", statusCount(IssueStatus.RESOLVED));
+        stats.put("closed", statusCount(IssueStatus.CLOSED));
+        return stats;
     }
 
-    private IssueDTO mapToDTO(Issue issue) {
-        return mapToDTO(issue, null);
+    private long statusCount(IssueStatus status) {
+        if (issueStatusCounters.isSeeded()) {
+            return issueStatusCounters.get(status);
+        }
+        Long count = issueRepository.countByStatus(status);
+        Long archived = archivedIssueRepository.countByStatus(status);
+        return (count != null ? count : 0) + (archived != null ? archived : 0);
+    }
+
+    // Projects the given ids and returns them in the same order, skipping any that no longer exist
+    private List<IssueDTO> findDtosInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, IssueDTO> byId = issueRepository.findDtosByIds(ids).stream()
+                .collect(Collectors.toMap(IssueDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Index candidates resolved to their root reports, keeping the best
+     * similarity per root. Costs one query, plus one more only when some
+     * candidate is itself a linked duplicate.
+     */
+    private List<DuplicateCandidateDTO> findDuplicateCandidates(Issue issue) {
+        List<MinHashIndex.Candidate> candidates = duplicateDetectionService.findCandidates(issue.getId(),
+                issue.getTitle(), issue.getDescription());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, IssueDTO> found = issueRepository.findDtosByIds(candidates.stream()
+                        .map(MinHashIndex.Candidate::getIssueId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(IssueDTO::getId, Function.identity()));
+        List<Long> missingRoots = found.values().stream()
+                .map(IssueDTO::getDuplicateOfId)
+                .filter(rootId -> rootId != null && !found.containsKey(rootId))
+                .distinct()
+                .collect(Collectors.toList());
+        if (!missingRoots.isEmpty()) {
+            issueRepository.findDtosByIds(missingRoots).forEach(root -> found.put(root.getId(), root));
+        }
+
+        Map<Long, DuplicateCandidateDTO> byRoot = new LinkedHashMap<>();
+        for (MinHashIndex.Candidate candidate : candidates) {
+            IssueDTO match = found.get(candidate.getIssueId());
+            if (match != null && match.getDuplicateOfId() != null) {
+                match = found.get(match.getDuplicateOfId());
+            }
+            if (match != null && !match.getId().equals(issue.getId())) {
+                byRoot.putIfAbsent(match.getId(), new DuplicateCandidateDTO(match, candidate.getSimilarity()));
+            }
+        }
+        return new ArrayList<>(byRoot.values());
+    }
+
+    private Pageable listLimit() {
+        return PageRequest.of(0, maxListResults);
     }
 
-    private IssueDTO mapToDTO(Issue issue, Map<Long, Long> commentCounts) {
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultCursorPageSize;
+        }
+        return Math.min(size, maxCursorPageSize);
+    }
+
+    /**
+     * Single-issue mapping for detail and write paths; list endpoints use the
+     * repository DTO projections instead.
+     */
+    private IssueDTO mapToDTO(Issue issue) {
         IssueDTO dto = new IssueDTO();
         dto.setId(issue.getId());
         dto.setTitle(issue.getTitle());
         dto.setDescription(issue.getDescription());
         dto.setCategory(issue.getCategory());
         dto.setLocation(issue.getLocation());
+        dto.setLatitude(issue.getLatitude());
+        dto.setLongitude(issue.getLongitude());
         dto.setAttachmentFileName(issue.getAttachmentFileName());
         dto.setAttachmentUrl(issue.getAttachmentUrl());
         dto.setStatus(issue.getStatus());
@@ -240,12 +507,8 @@ public class IssueService {
             dto.setAssignedPoliticianName(issue.getAssignedPolitician().getFullName());
         }
 
-        // Use pre-loaded batch counts if available, otherwise fall back to single query
-        long count = (commentCounts != null)
-                ? commentCounts.getOrDefault(issue.getId(), 0L)
-                : (commentRepository.countByIssueId(issue.getId()) != null
-                        ? commentRepository.countByIssueId(issue.getId()) : 0L);
-        dto.setCommentCount((int) count);
+        dto.setCommentCount(issue.getCommentCount());
+        dto.setDuplicateOfId(issue.getDuplicateOfId());
 
         return dto;
     }
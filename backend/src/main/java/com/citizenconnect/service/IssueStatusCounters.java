@@ -0,0 +1,198 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-status issue counts, archived issues included. Seeded from a
+ * GROUP BY over the live and archive tables at startup, moved by issue events
+ * after commit, and periodically compared against the database so any drift
+ * is corrected.
+ *
+ * A reconcile must not overwrite the counters with a snapshot that already
+ * contains a committed write whose event has not been applied yet, or that
+ * event would be counted twice. Writes are therefore tracked from the moment
+ * their event is published (inside the writing transaction) until it has been
+ * applied after commit, and a snapshot is only installed if no write was in
+ * flight or applied while it was taken.
+ */
+@Service
+public class IssueStatusCounters implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueStatusCounters.class);
+    private static final int RECONCILE_ATTEMPTS = 3;
+    private static final long RECONCILE_RETRY_PAUSE_MS = 100;
+
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final Map<IssueStatus, AtomicLong> counts = new EnumMap<>(IssueStatus.class);
+    // Bumped whenever a write starts or is applied, so a reconcile can tell whether it raced with one
+    private final AtomicLong version = new AtomicLong();
+    // Writes whose event was published but not yet applied (or rolled back)
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean seeded;
+
+    private final LongAdder eventsApplied = new LongAdder();
+    private final LongAdder reconciles = new LongAdder();
+    private final LongAdder driftCorrections = new LongAdder();
+
+    public IssueStatusCounters(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository) {
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        for (IssueStatus status : IssueStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long get(IssueStatus status) {
+        return counts.get(status).get();
+    }
+
+    /**
+     * Registers the write while its transaction is still open and applies the
+     * event after commit. Events published outside a transaction are ignored,
+     * as with the other after-commit listeners.
+     */
+    @EventListener
+    public void onIssueEvent(IssueEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        version.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(event);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(IssueEvent event) {
+        switch (event.getType()) {
+            case CREATED -> adjust(event.getStatus(), 1);
+            case DELETED -> adjust(event.getStatus(), -1);
+            // Archived issues stay counted; the move is no change
+            case ARCHIVED -> { }
+            case UPDATED -> {
+                if (event.isStatusChanged()) {
+                    adjust(event.getPreviousStatus(), -1);
+                    adjust(event.getStatus(), 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the counters with fresh database totals. The swap only happens
+     * if no write was in flight when the query started and none started or
+     * was applied while it ran; otherwise it retries after a short pause, and
+     * after a few busy attempts leaves the live counters for the next run.
+     */
+    @Scheduled(fixedDelayString = "${issues.status-counters.reconcile-interval-ms:600000}",
+            initialDelayString = "${issues.status-counters.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (attempt > 0 && !pause()) {
+                return;
+            }
+            long before = version.get();
+            if (inFlight.get() > 0) {
+                continue;
+            }
+            Map<IssueStatus, Long> fresh = new EnumMap<>(IssueStatus.class);
+            for (Object[] row : issueRepository.countGroupByStatus()) {
+                fresh.merge((IssueStatus) row[0], (Long) row[1], Long::sum);
+            }
+            for (Object[] row : archivedIssueRepository.countGroupByStatus()) {
+                fresh.merge((IssueStatus) row[0], (Long) row[1], Long::sum);
+            }
+            synchronized (counts) {
+                if (version.get() != before || inFlight.get() > 0) {
+                    continue;
+                }
+                long drift = 0;
+                for (IssueStatus status : IssueStatus.values()) {
+                    long expected = fresh.getOrDefault(status, 0L);
+                    drift += Math.abs(counts.get(status).getAndSet(expected) - expected);
+                }
+                if (seeded && drift > 0) {
+                    driftCorrections.add(drift);
+                    log.warn("Issue status counters drifted by {}; corrected from database", drift);
+                }
+                seeded = true;
+                reconciles.increment();
+                return;
+            }
+        }
+    }
+
+    private static boolean pause() {
+        try {
+            Thread.sleep(RECONCILE_RETRY_PAUSE_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void adjust(IssueStatus status, long delta) {
+        if (status == null) {
+            return;
+        }
+        synchronized (counts) {
+            counts.get(status).addAndGet(delta);
+            version.incrementAndGet();
+        }
+        eventsApplied.increment();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "issueStatusCounters";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("seeded", seeded ? 1 : 0);
+        metrics.put("eventsApplied", eventsApplied.sum());
+        metrics.put("reconciles", reconciles.sum());
+        metrics.put("driftCorrections", driftCorrections.sum());
+        return metrics;
+    }
+}
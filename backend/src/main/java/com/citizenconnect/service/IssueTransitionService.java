@@ -0,0 +1,232 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.dto.IssueSnapshot;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.exception.BadRequestException;
+import com.citizenconnect.exception.ConflictException;
+import com.citizenconnect.exception.ResourceNotFoundException;
+import com.citizenconnect.exception.UnauthorizedException;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Issue transitions (status, assignment, duplicate links) as single
+ * compare-and-set UPDATEs. The issue is
+ * read once as a narrow projection, the move is checked against the
+ * IssueStatus transition rules, and the UPDATE only applies while the status
+ * is still the one that was checked. If another request changed the issue in
+ * between, the UPDATE matches no row and the caller gets a 409 rather than
+ * silently overwriting that change. No entity is loaded, so nothing is
+ * flushed and no row stays locked beyond the UPDATE itself.
+ */
+@Service
+@Transactional
+public class IssueTransitionService implements MetricsSource {
+
+    private final IssueRepository issueRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public IssueTransitionService(IssueRepository issueRepository, ApplicationEventPublisher eventPublisher) {
+        this.issueRepository = issueRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Moves the issue to {@code status}. Asking for the status it already has
+     * is a no-op.
+     */
+    public void changeStatus(Long issueId, IssueStatus status) {
+        IssueSnapshot before = snapshot(issueId);
+        if (before.getStatus() == status) {
+            unchanged.increment();
+            return;
+        }
+        checkTransition(before, status);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = status.isFinished()
+                ? issueRepository.compareAndSetStatusResolved(issueId, before.getStatus(), status, now)
+                : issueRepository.compareAndSetStatus(issueId, before.getStatus(), status, now);
+        requireApplied(updated, before);
+        publish(before, status, status.isFinished() ? now : before.getResolvedAt());
+    }
+
+    /**
+     * Moves the issue from {@code expected} to {@code status} if it is still
+     * in {@code expected}; returns false instead of failing otherwise.
+     */
+    public boolean tryChangeStatus(Long issueId, IssueStatus expected, IssueStatus status) {
+        IssueSnapshot before = snapshot(issueId);
+        if (before.getStatus() != expected || !expected.canTransitionTo(status)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = status.isFinished()
+                ? issueRepository.compareAndSetStatusResolved(issueId, expected, status, now)
+                : issueRepository.compareAndSetStatus(issueId, expected, status, now);
+        if (updated == 0) {
+            conflicts.increment();
+            return false;
+        }
+        publish(before, status, status.isFinished() ? now : before.getResolvedAt());
+        return true;
+    }
+
+    /**
+     * Records the assigned politician's response and moves the issue to
+     * IN_PROGRESS. Returns the issue as it was before, for the notification.
+     */
+    public IssueSnapshot respond(Long issueId, String response, Long politicianId) {
+        IssueSnapshot before = assignedSnapshot(issueId, politicianId);
+        if (before.getStatus() != IssueStatus.IN_PROGRESS) {
+            checkTransition(before, IssueStatus.IN_PROGRESS);
+        }
+        int updated = issueRepository.compareAndSetResponse(issueId, before.getStatus(), politicianId, response,
+                IssueStatus.IN_PROGRESS, LocalDateTime.now());
+        requireApplied(updated, before);
+        publish(before, IssueStatus.IN_PROGRESS, before.getResolvedAt());
+        return before;
+    }
+
+    /**
+     * Records the assigned politician's resolution notes and marks the issue
+     * RESOLVED.
+     */
+    public IssueSnapshot resolve(Long issueId, String resolutionNotes, Long politicianId) {
+        IssueSnapshot before = assignedSnapshot(issueId, politicianId);
+        if (before.getStatus() != IssueStatus.RESOLVED) {
+            checkTransition(before, IssueStatus.RESOLVED);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = issueRepository.compareAndSetResolution(issueId, before.getStatus(), politicianId,
+                resolutionNotes, IssueStatus.RESOLVED, now);
+        requireApplied(updated, before);
+        publish(before, IssueStatus.RESOLVED, now);
+        return before;
+    }
+
+    /**
+     * Assigns the issue to {@code politician} and moves it to IN_PROGRESS. The
+     * UPDATE also checks the current assignee, so the event's previous
+     * politician is the one whose load actually drops. Returns the issue as it
+     * was before, for the notification.
+     */
+    public IssueSnapshot assign(Long issueId, User politician) {
+        IssueSnapshot before = snapshot(issueId);
+        if (before.getStatus() != IssueStatus.IN_PROGRESS && !before.getStatus().canTransitionTo(IssueStatus.IN_PROGRESS)) {
+            rejected.increment();
+            throw new ConflictException("A " + before.getStatus() + " issue cannot be assigned; reopen it first");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = before.getPoliticianId() != null
+                ? issueRepository.compareAndSetAssignee(issueId, before.getStatus(), before.getPoliticianId(),
+                        politician, IssueStatus.IN_PROGRESS, now)
+                : issueRepository.compareAndSetFirstAssignee(issueId, before.getStatus(), politician,
+                        IssueStatus.IN_PROGRESS, now);
+        requireApplied(updated, before);
+        applied.increment();
+        eventPublisher.publishEvent(IssueEvent.reassigned(before, politician.getId(), IssueStatus.IN_PROGRESS));
+        return before;
+    }
+
+    /**
+     * Links the issue to {@code rootId}. With {@code close}, an issue that is
+     * still active is also closed; it is not counted as a resolution, so
+     * resolvedAt stays unset.
+     */
+    public void markDuplicate(Long issueId, Long rootId, boolean close) {
+        IssueSnapshot before = snapshot(issueId);
+        boolean closing = close
+                && (before.getStatus() == IssueStatus.OPEN || before.getStatus() == IssueStatus.IN_PROGRESS);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = closing
+                ? issueRepository.compareAndSetDuplicateClosed(issueId, before.getStatus(), rootId, IssueStatus.CLOSED,
+                        "Duplicate of issue #" + rootId, now)
+                : issueRepository.compareAndSetDuplicateOf(issueId, before.getStatus(), rootId, now);
+        requireApplied(updated, before);
+        publish(before, closing ? IssueStatus.CLOSED : before.getStatus(), before.getResolvedAt());
+    }
+
+    /**
+     * Removes the issue's duplicate link. The status does not change, but the
+     * event still goes out so every listener sees the issue was touched.
+     */
+    public void unmarkDuplicate(Long issueId) {
+        IssueSnapshot before = snapshot(issueId);
+        if (before.getDuplicateOfId() == null) {
+            throw new BadRequestException("Issue is not marked as a duplicate");
+        }
+        int updated = issueRepository.compareAndClearDuplicateOf(issueId, before.getStatus(), before.getDuplicateOfId(),
+                LocalDateTime.now());
+        requireApplied(updated, before);
+        publish(before, before.getStatus(), before.getResolvedAt());
+    }
+
+    private IssueSnapshot snapshot(Long issueId) {
+        return issueRepository.findSnapshot(issueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Issue", "id", issueId));
+    }
+
+    private IssueSnapshot assignedSnapshot(Long issueId, Long politicianId) {
+        IssueSnapshot before = snapshot(issueId);
+        if (before.getPoliticianId() == null || !before.getPoliticianId().equals(politicianId)) {
+            throw new UnauthorizedException("You are not assigned to this issue");
+        }
+        return before;
+    }
+
+    private void checkTransition(IssueSnapshot before, IssueStatus status) {
+        if (!before.getStatus().canTransitionTo(status)) {
+            rejected.increment();
+            throw new ConflictException("Issue " + before.getId() + " cannot move from "
+                    + before.getStatus() + " to " + status);
+        }
+    }
+
+    private void requireApplied(int updated, IssueSnapshot before) {
+        if (updated == 0) {
+            conflicts.increment();
+            throw new ConflictException("Issue " + before.getId()
+                    + " was changed by another request; reload it and try again");
+        }
+    }
+
+    private void publish(IssueSnapshot before, IssueStatus status, LocalDateTime resolvedAt) {
+        applied.increment();
+        eventPublisher.publishEvent(IssueEvent.transitioned(before, status, resolvedAt));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "issueTransitions";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        long appliedCount = applied.sum();
+        long conflictCount = conflicts.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("applied", appliedCount);
+        metrics.put("unchanged", unchanged.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("conflicts", conflictCount);
+        // Share of checked transitions that lost a race to a concurrent change
+        metrics.put("conflictRatio", appliedCount + conflictCount > 0
+                ? (double) conflictCount / (appliedCount + conflictCount) : 0);
+        return metrics;
+    }
+}
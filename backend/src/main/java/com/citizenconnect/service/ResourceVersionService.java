@@ -0,0 +1,80 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.dto.ResourceVersion;
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import com.citizenconnect.repository.UpdateRepository;
+import com.citizenconnect.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Computes conditional-GET validators with one narrow query each: single
+ * resources from their updatedAt columns (and those of the users whose names
+ * they show), collections from a count plus the newest change. No entity is
+ * loaded, so answering 304 costs a fraction of building the response.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+    private final IssueRepository issueRepository;
+    private final ArchivedIssueRepository archivedIssueRepository;
+    private final UpdateRepository updateRepository;
+    private final UserRepository userRepository;
+
+    public ResourceVersionService(IssueRepository issueRepository, ArchivedIssueRepository archivedIssueRepository,
+            UpdateRepository updateRepository, UserRepository userRepository) {
+        this.issueRepository = issueRepository;
+        this.archivedIssueRepository = archivedIssueRepository;
+        this.updateRepository = updateRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Version of a live or archived issue, or null if there is no such issue.
+     */
+    public ResourceVersion issue(Long id) {
+        List<Object[]> rows = issueRepository.findVersionStamp(id);
+        String table = "live";
+        if (rows.isEmpty()) {
+            rows = archivedIssueRepository.findVersionStamp(id);
+            table = "archived";
+        }
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime lastModified = newest((LocalDateTime) row[0], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+        return ResourceVersion.of(lastModified, "issue", id, table, row[0], row[1], row[2], row[3]);
+    }
+
+    public ResourceVersion publishedUpdates() {
+        Object[] row = updateRepository.findPublishedVersionStamp().get(0);
+        return ResourceVersion.of(null, "updates", row[0], row[1], row[2], row[3]);
+    }
+
+    public ResourceVersion politicians() {
+        Object[] row = userRepository.findRoleVersionStamp(Role.POLITICIAN).get(0);
+        return ResourceVersion.of(null, "politicians", row[0], row[1]);
+    }
+
+    public ResourceVersion politicians(String constituency) {
+        Object[] row = userRepository.findRoleVersionStamp(Role.POLITICIAN, constituency).get(0);
+        return ResourceVersion.of(null, "politicians", constituency, row[0], row[1]);
+    }
+
+    private static LocalDateTime newest(LocalDateTime... times) {
+        LocalDateTime newest = null;
+        for (LocalDateTime time : times) {
+            if (time != null && (newest == null || time.isAfter(newest))) {
+                newest = time;
+            }
+        }
+        return newest;
+    }
+}
@@ -6,10 +6,16 @@ import com.citizenconnect.entity.Role;
 import com.citizenconnect.entity.User;
 import com.citizenconnect.exception.BadRequestException;
 import com.citizenconnect.exception.ResourceNotFoundException;
+import com.citizenconnect.notification.NotificationOutbox;
 import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.security.JwtTokenProvider;
+import com.citizenconnect.security.TokenRevocationService;
+import com.citizenconnect.security.UserDetailsCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,10 +26,30 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final UserDetailsCache userDetailsCache;
+    private final NotificationOutbox notificationOutbox;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            UserDetailsCache userDetailsCache, NotificationOutbox notificationOutbox,
+            TokenRevocationService tokenRevocationService, JwtTokenProvider jwtTokenProvider) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.notificationOutbox = notificationOutbox;
+        this.tokenRevocationService = tokenRevocationService;
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    /**
+     * Self-registration: creates the account and queues the welcome email in
+     * the same transaction, so neither exists without the other.
+     */
+    public UserDTO register(RegisterRequest request) {
+        UserDTO user = createUser(request);
+        notificationOutbox.welcome(user.getEmail(), user.getFullName());
+        return user;
     }
 
     public UserDTO createUser(RegisterRequest request) {
@@ -93,6 +119,7 @@ public class UserService {
             user.setProfileImage(userDTO.getProfileImage());
 
         User updatedUser = userRepository.save(user);
+        evictCachedDetails(user.getEmail());
         return mapToDTO(updatedUser);
     }
 
@@ -101,6 +128,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setRole(role);
         User updatedUser = userRepository.save(user);
+        revokeIssuedTokens(user.getEmail());
         return mapToDTO(updatedUser);
     }
 
@@ -109,13 +137,14 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
         user.setEnabled(!user.isEnabled());
         userRepository.save(user);
+        revokeIssuedTokens(user.getEmail());
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        userRepository.delete(user);
+        revokeIssuedTokens(user.getEmail());
     }
 
     @Transactional(readOnly = true)
@@ -123,7 +152,33 @@ public class UserService {
         return userRepository.countByRole(role);
     }
 
-    private UserDTO mapToDTO(User user) {
+    /**
+     * Role, enabled flag and identity are embedded in issued tokens, so a
+     * change to any of them revokes the user's tokens issued up to now, in the
+     * same transaction; the user has to log in again to get the new claims.
+     */
+    private void revokeIssuedTokens(String email) {
+        tokenRevocationService.revokeIssuedBefore(email, jwtTokenProvider.maxExpiryFromNow());
+        evictCachedDetails(email);
+    }
+
+    /**
+     * Evicts now and again after commit, so a request that re-populated the
+     * cache while this transaction was still open cannot keep stale authorities.
+     */
+    private void evictCachedDetails(String email) {
+        userDetailsCache.evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsCache.evict(email);
+                }
+            });
+        }
+    }
+
+    UserDTO mapToDTO(User user) {
         return UserDTO.builder()
                 .id(user.getId())
                 .fullName(user.getFullName())
@@ -0,0 +1,332 @@
+package com.citizenconnect.workqueue;
+
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.event.CommentEvent;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.metrics.MetricsSource;
+import com.citizenconnect.repository.IssueRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory priority queue of active issues per politician. Priority is
+ * status, category and comment weights plus a constant rate per hour of age.
+ * Because every issue ages at the same rate, the relative order only depends
+ * on weight minus rate times creation time, so entries are sorted once on
+ * insert and never re-sorted as time passes. Queues are built lazily from the
+ * database on first use and then kept current from after-commit events.
+ */
+@Service
+public class PoliticianWorkQueue implements MetricsSource {
+
+    private static final Set<IssueStatus> ACTIVE = EnumSet.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble((Entry e) -> e.key).reversed()
+            .thenComparingLong(e -> e.issueId);
+
+    private final IssueRepository issueRepository;
+    private final WorkQueueProperties properties;
+
+    private final Map<Long, Queue> queues = new ConcurrentHashMap<>();
+    // Owning politician of every queued issue, for routing comment events
+    private final Map<Long, Long> issueOwners = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder claims = new LongAdder();
+
+    public PoliticianWorkQueue(IssueRepository issueRepository, WorkQueueProperties properties) {
+        this.issueRepository = issueRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Highest-priority issue ids that are not currently claimed, best first.
+     */
+    public List<Long> next(Long politicianId, int limit) {
+        Queue queue = queueFor(politicianId);
+        long now = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>(limit);
+        synchronized (queue) {
+            for (Entry entry : queue.ordered) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (!queue.isClaimed(entry.issueId, now)) {
+                    ids.add(entry.issueId);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Leases the highest-priority unclaimed issue to the caller so it is
+     * hidden from next() until the lease runs out or the issue is finished.
+     * Returns null when nothing is left to claim.
+     */
+    public Long claim(Long politicianId) {
+        Queue queue = queueFor(politicianId);
+        long now = System.currentTimeMillis();
+        synchronized (queue) {
+            for (Entry entry : queue.ordered) {
+                if (!queue.isClaimed(entry.issueId, now)) {
+                    queue.claims.put(entry.issueId, now + properties.getClaimLeaseMinutes() * 60_000);
+                    claims.increment();
+                    return entry.issueId;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Current priority score of a queued issue, or null if it is not queued.
+     */
+    public Double scoreOf(Long politicianId, Long issueId) {
+        Queue queue = queueFor(politicianId);
+        synchronized (queue) {
+            Entry entry = queue.byId.get(issueId);
+            return entry != null ? entry.key + properties.getAgingPerHour() * hours(System.currentTimeMillis()) : null;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onIssueEvent(IssueEvent event) {
+        Long issueId = event.getIssueId();
+        if (event.getType() == IssueEvent.Type.DELETED) {
+            remove(event.getPoliticianId(), issueId);
+            return;
+        }
+        if (event.getType() == IssueEvent.Type.UPDATED && event.getPreviousPoliticianId() != null
+                && !event.getPreviousPoliticianId().equals(event.getPoliticianId())) {
+            remove(event.getPreviousPoliticianId(), issueId);
+        }
+        if (event.getPoliticianId() == null) {
+            return;
+        }
+        if (ACTIVE.contains(event.getStatus())) {
+            Queue queue = queues.get(event.getPoliticianId());
+            if (queue != null) {
+                Entry entry = entryOf(issueId, event.getStatus(), event.getCategory(), event.getCommentCount(),
+                        event.getCreatedAt());
+                synchronized (queue) {
+                    queue.upsert(entry);
+                }
+                issueOwners.put(issueId, event.getPoliticianId());
+            }
+        } else {
+            remove(event.getPoliticianId(), issueId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCommentEvent(CommentEvent event) {
+        Long politicianId = issueOwners.get(event.getIssueId());
+        Queue queue = politicianId != null ? queues.get(politicianId) : null;
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            Entry current = queue.byId.get(event.getIssueId());
+            if (current != null) {
+                queue.upsert(entryOf(current.issueId, current.status, current.category,
+                        Math.max(0, current.commentCount + event.getDelta()), current.createdAtMillis));
+            }
+        }
+    }
+
+    /**
+     * Drops every queue so the next request rebuilds it from the database,
+     * picking up any weight changes and correcting drift.
+     */
+    @Scheduled(fixedDelayString = "${work-queue.rebuild-interval-ms:3600000}",
+            initialDelayString = "${work-queue.rebuild-interval-ms:3600000}")
+    public void invalidateAll() {
+        queues.clear();
+        issueOwners.clear();
+    }
+
+    private Queue queueFor(Long politicianId) {
+        while (true) {
+            Queue queue = queues.get(politicianId);
+            if (queue == null) {
+                Queue created = new Queue();
+                queue = queues.putIfAbsent(politicianId, created);
+                if (queue == null) {
+                    load(politicianId, created);
+                    return created;
+                }
+            }
+            synchronized (queue) {
+                while (!queue.loaded && !queue.failed) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while loading work queue", e);
+                    }
+                }
+                if (queue.loaded) {
+                    return queue;
+                }
+            }
+            // The loader failed and removed the queue; try loading again
+        }
+    }
+
+    /**
+     * Reads the politician's active issues. The queue is registered before the
+     * read, so events committed meanwhile are applied to it directly and win
+     * over the possibly older rows from the query.
+     */
+    private void load(Long politicianId, Queue queue) {
+        try {
+            List<Object[]> rows = issueRepository.findQueueEntries(politicianId, ACTIVE);
+            synchronized (queue) {
+                for (Object[] row : rows) {
+                    Long issueId = (Long) row[0];
+                    if (!queue.touchedWhileLoading.contains(issueId)) {
+                        queue.upsert(entryOf(issueId, (IssueStatus) row[1], (String) row[2], (Integer) row[3],
+                                (LocalDateTime) row[4]));
+                        issueOwners.put(issueId, politicianId);
+                    }
+                }
+                queue.touchedWhileLoading = null;
+                queue.loaded = true;
+                queue.notifyAll();
+            }
+            loads.increment();
+        } catch (RuntimeException e) {
+            queues.remove(politicianId, queue);
+            synchronized (queue) {
+                queue.failed = true;
+                queue.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private void remove(Long politicianId, Long issueId) {
+        Queue queue = politicianId != null ? queues.get(politicianId) : null;
+        if (queue != null) {
+            synchronized (queue) {
+                queue.remove(issueId);
+            }
+        }
+        issueOwners.remove(issueId, politicianId);
+    }
+
+    private Entry entryOf(Long issueId, IssueStatus status, String category, int commentCount,
+            LocalDateTime createdAt) {
+        long createdAtMillis = createdAt != null ? createdAt.toInstant(ZoneOffset.UTC).toEpochMilli()
+                : System.currentTimeMillis();
+        return entryOf(issueId, status, category, commentCount, createdAtMillis);
+    }
+
+    private Entry entryOf(Long issueId, IssueStatus status, String category, int commentCount, long createdAtMillis) {
+        double weight = properties.weightOf(status) + properties.weightOf(category)
+                + properties.getCommentWeight() * Math.log1p(commentCount);
+        double key = weight - properties.getAgingPerHour() * hours(createdAtMillis);
+        return new Entry(issueId, status, category, commentCount, createdAtMillis, key);
+    }
+
+    private static double hours(long epochMillis) {
+        return epochMillis / MILLIS_PER_HOUR;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "politicianWorkQueue";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("loadedQueues", queues.size());
+        metrics.put("queuedIssues", issueOwners.size());
+        metrics.put("loads", loads.sum());
+        metrics.put("claims", claims.sum());
+        return metrics;
+    }
+
+    private static final class Entry {
+        private final long issueId;
+        private final IssueStatus status;
+        private final String category;
+        private final int commentCount;
+        private final long createdAtMillis;
+        private final double key;
+
+        private Entry(long issueId, IssueStatus status, String category, int commentCount, long createdAtMillis,
+                double key) {
+            this.issueId = issueId;
+            this.status = status;
+            this.category = category;
+            this.commentCount = commentCount;
+            this.createdAtMillis = createdAtMillis;
+            this.key = key;
+        }
+    }
+
+    // Guarded by its own monitor
+    private static final class Queue {
+        private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private final Map<Long, Long> claims = new HashMap<>();
+        private Set<Long> touchedWhileLoading = new HashSet<>();
+        private boolean loaded;
+        private boolean failed;
+
+        private void upsert(Entry entry) {
+            Entry previous = byId.put(entry.issueId, entry);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(entry);
+            touch(entry.issueId);
+        }
+
+        private void remove(Long issueId) {
+            Entry previous = byId.remove(issueId);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            claims.remove(issueId);
+            touch(issueId);
+        }
+
+        private void touch(Long issueId) {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.add(issueId);
+            }
+        }
+
+        private boolean isClaimed(long issueId, long now) {
+            Long leaseUntil = claims.get(issueId);
+            if (leaseUntil == null) {
+                return false;
+            }
+            if (leaseUntil <= now) {
+                claims.remove(issueId);
+                return false;
+            }
+            return true;
+        }
+    }
+}
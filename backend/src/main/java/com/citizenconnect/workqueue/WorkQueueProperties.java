@@ -0,0 +1,83 @@
+package com.citizenconnect.workqueue;
+
+import com.citizenconnect.entity.IssueStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scoring weights for the politician work queue, bound from work-queue.*.
+ * An issue's priority is its status, category and comment weights plus
+ * agingPerHour for every hour since it was created.
+ */
+@Component
+@ConfigurationProperties(prefix = "work-queue")
+public class WorkQueueProperties {
+
+    private Map<IssueStatus, Double> statusWeights = new EnumMap<>(IssueStatus.class);
+    private Map<String, Double> categoryWeights = new HashMap<>();
+    private double defaultCategoryWeight = 0;
+    // Multiplied by ln(1 + comments), so activity helps without letting busy threads dominate
+    private double commentWeight = 5;
+    private double agingPerHour = 0.5;
+    private long claimLeaseMinutes = 30;
+
+    public double weightOf(IssueStatus status) {
+        return statusWeights.getOrDefault(status, 0.0);
+    }
+
+    public double weightOf(String category) {
+        return category != null ? categoryWeights.getOrDefault(category, defaultCategoryWeight) : defaultCategoryWeight;
+    }
+
+    public Map<IssueStatus, Double> getStatusWeights() {
+        return statusWeights;
+    }
+
+    public void setStatusWeights(Map<IssueStatus, Double> statusWeights) {
+        this.statusWeights = statusWeights;
+    }
+
+    public Map<String, Double> getCategoryWeights() {
+        return categoryWeights;
+    }
+
+    public void setCategoryWeights(Map<String, Double> categoryWeights) {
+        this.categoryWeights = categoryWeights;
+    }
+
+    public double getDefaultCategoryWeight() {
+        return defaultCategoryWeight;
+    }
+
+    public void setDefaultCategoryWeight(double defaultCategoryWeight) {
+        this.defaultCategoryWeight = defaultCategoryWeight;
+    }
+
+    public double getCommentWeight() {
+        return commentWeight;
+    }
+
+    public void setCommentWeight(double commentWeight) {
+        this.commentWeight = commentWeight;
+    }
+
+    public double getAgingPerHour() {
+        return agingPerHour;
+    }
+
+    public void setAgingPerHour(double agingPerHour) {
+        this.agingPerHour = agingPerHour;
+    }
+
+    public long getClaimLeaseMinutes() {
+        return claimLeaseMinutes;
+    }
+
+    public void setClaimLeaseMinutes(long claimLeaseMinutes) {
+        this.claimLeaseMinutes = claimLeaseMinutes;
+    }
+}
@@ -0,0 +1,69 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Secondary indexes behind the list, filter and maintenance queries. Each
+ * index supports a repository query checked by RepositoryQueryPlanTest.
+ *
+ * Written in Java rather than SQL because MySQL has no CREATE INDEX IF NOT
+ * EXISTS, and databases that ran earlier builds already have most of these
+ * indexes (created by Hibernate from @Index annotations, same names).
+ */
+public class V1__Add_query_indexes extends BaseJavaMigration {
+
+    private static final List<String[]> INDEXES = List.of(
+            // table, index, columns
+            new String[]{"issues", "idx_issues_status_created", "status, created_at"},
+            new String[]{"issues", "idx_issues_politician_status_created", "assigned_politician_id, status, created_at"},
+            new String[]{"issues", "idx_issues_citizen_created", "citizen_id, created_at"},
+            new String[]{"issues", "idx_issues_status_resolved", "status, resolved_at"},
+            new String[]{"issues", "idx_issues_created", "created_at"},
+            new String[]{"issues", "idx_issues_duplicate_of", "duplicate_of_id"},
+            new String[]{"issues", "idx_issues_geohash", "geohash"},
+            new String[]{"comments", "idx_comments_issue_created", "issue_id, created_at"},
+            new String[]{"comments", "idx_comments_flagged", "flagged"},
+            new String[]{"feedbacks", "idx_feedbacks_politician_created", "politician_id, created_at"},
+            new String[]{"updates", "idx_updates_published_created", "published, created_at"},
+            new String[]{"users", "idx_users_role_constituency", "role, constituency"},
+            new String[]{"revoked_tokens", "idx_revoked_tokens_expires_at", "expires_at"},
+            new String[]{"notification_outbox", "idx_outbox_status_next_attempt", "status, next_attempt_at"},
+            new String[]{"archived_issues", "idx_archived_issues_created", "created_at"},
+            new String[]{"archived_issues", "idx_archived_issues_status", "status"},
+            new String[]{"archived_issues", "idx_archived_issues_citizen_created", "citizen_id, created_at"},
+            new String[]{"archived_issues", "idx_archived_issues_politician_created", "assigned_politician_id, created_at"},
+            new String[]{"archived_comments", "idx_archived_comments_issue_created", "issue_id, created_at"}
+    );
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        for (String[] index : INDEXES) {
+            if (!exists(connection, index[0], index[1])) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE INDEX " + index[1] + " ON " + index[0] + " (" + index[2] + ")");
+                }
+            }
+        }
+    }
+
+    private boolean exists(Connection connection, String table, String index) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?")) {
+            statement.setString(1, table);
+            statement.setString(2, index);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.citizenconnect.archive;
+
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.support.MySqlIntegrationTest;
+import com.citizenconnect.support.RecordingDataSource;
+import com.citizenconnect.support.RecordingDataSource.RecordedStatement;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What archiving buys the hot table: seeds issues, archives 90% of them, and
+ * compares the list, count and search queries before and after. Rows
+ * examined (summed over EXPLAIN) must drop at least by half; timings are
+ * logged for comparison but not asserted, since they are noisy in CI.
+ */
+class IssueArchiverHotTableTest extends MySqlIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueArchiverHotTableTest.class);
+
+    private static final int ISSUES = 6000;
+    // Every tenth issue stays open; the rest are closed long enough ago to be archived
+    private static final int LIVE_EVERY = 10;
+    // Older than anything other tests seed, so only this test's issues are due
+    private static final int RESOLVED_AGE_DAYS = 3650;
+    private static final String KEYWORD = "culvert";
+    private static final int TIMED_RUNS = 5;
+
+    @Autowired
+    private IssueArchiver issueArchiver;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ArchivedIssueRepository archivedIssueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void archivingShrinksTheWorkOfListCountAndSearch() {
+        int due = seed();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("list",
+                () -> issueRepository.findDtosByStatusWithPaging(IssueStatus.CLOSED, PageRequest.of(0, 20)));
+        queries.put("count", () -> issueRepository.countByStatus(IssueStatus.CLOSED));
+        queries.put("search", () -> issueRepository.searchDtosByKeyword(KEYWORD, PageRequest.of(0, 20)));
+
+        Map<String, Measurement> before = measure(queries);
+        long archivedBefore = archivedIssueRepository.count();
+        archive();
+        assertThat(archivedIssueRepository.count() - archivedBefore).isEqualTo(due);
+        Map<String, Measurement> after = measure(queries);
+
+        for (String query : queries.keySet()) {
+            Measurement was = before.get(query);
+            Measurement is = after.get(query);
+            log.info("{}: rows examined {} -> {}, median {} us -> {} us", query,
+                    was.rowsExamined(), is.rowsExamined(), was.medianMicros(), is.medianMicros());
+            assertThat(is.rowsExamined())
+                    .as("rows examined by %s after archiving (before: %d)", query, was.rowsExamined())
+                    .isLessThanOrEqualTo(was.rowsExamined() / 2);
+        }
+    }
+
+    private int seed() {
+        User citizen = userRepository.findByEmail("rajesh.citizen@example.com").orElseThrow();
+        LocalDateTime resolvedAt = LocalDateTime.now().minusDays(RESOLVED_AGE_DAYS + 30);
+        return transactionTemplate.execute(status -> {
+            int closed = 0;
+            for (int i = 0; i < ISSUES; i++) {
+                Issue issue = new Issue();
+                issue.setTitle("Blocked " + KEYWORD + " " + i);
+                issue.setDescription("Storm water backs up at the " + KEYWORD + " near plot " + i);
+                issue.setCategory("Water");
+                issue.setCitizen(citizen);
+                if (i % LIVE_EVERY != 0) {
+                    issue.setStatus(IssueStatus.CLOSED);
+                    issue.setResolvedAt(resolvedAt);
+                    closed++;
+                }
+                issueRepository.save(issue);
+            }
+            return closed;
+        });
+    }
+
+    // The archiver is off in the test profile; switched on for one run and restored for the shared context
+    private void archive() {
+        Object resolvedAgeDays = ReflectionTestUtils.getField(issueArchiver, "resolvedAgeDays");
+        Object chunkPauseMs = ReflectionTestUtils.getField(issueArchiver, "chunkPauseMs");
+        ReflectionTestUtils.setField(issueArchiver, "enabled", true);
+        ReflectionTestUtils.setField(issueArchiver, "resolvedAgeDays", RESOLVED_AGE_DAYS);
+        ReflectionTestUtils.setField(issueArchiver, "chunkPauseMs", 0L);
+        try {
+            issueArchiver.archive();
+        } finally {
+            ReflectionTestUtils.setField(issueArchiver, "enabled", false);
+            ReflectionTestUtils.setField(issueArchiver, "resolvedAgeDays", resolvedAgeDays);
+            ReflectionTestUtils.setField(issueArchiver, "chunkPauseMs", chunkPauseMs);
+        }
+    }
+
+    private Map<String, Measurement> measure(Map<String, Runnable> queries) {
+        for (String table : List.of("issues", "archived_issues")) {
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        }
+        Map<String, Measurement> measurements = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            RecordingDataSource.start();
+            List<RecordedStatement> statements;
+            try {
+                query.run();
+            } finally {
+                statements = RecordingDataSource.stop();
+            }
+            long rows = statements.stream().mapToLong(this::rowsExamined).sum();
+
+            long[] micros = new long[TIMED_RUNS];
+            for (int run = 0; run < TIMED_RUNS; run++) {
+                long started = System.nanoTime();
+                query.run();
+                micros[run] = (System.nanoTime() - started) / 1000;
+            }
+            Arrays.sort(micros);
+            measurements.put(name, new Measurement(rows, micros[TIMED_RUNS / 2]));
+        });
+        return measurements;
+    }
+
+    private long rowsExamined(RecordedStatement statement) {
+        return jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray()).stream()
+                .map(row -> (Number) row.get("rows"))
+                .filter(rows -> rows != null)
+                .mapToLong(Number::longValue)
+                .sum();
+    }
+
+    private record Measurement(long rowsExamined, long medianMicros) {
+    }
+}
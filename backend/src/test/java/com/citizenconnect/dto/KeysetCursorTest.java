@@ -0,0 +1,39 @@
+package com.citizenconnect.dto;
+
+import com.citizenconnect.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A cursor issued for one sort direction is refused for the other, since
+ * it would silently skip or repeat rows.
+ */
+class KeysetCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 10, 15, 30);
+
+    @Test
+    void cursorContinuesInItsOwnDirection() {
+        String token = KeysetCursor.encode(CREATED_AT, 42L, Sort.Direction.DESC);
+
+        KeysetCursor position = KeysetCursor.decode(token, Sort.Direction.DESC);
+        assertThat(position.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(position.getId()).isEqualTo(42L);
+        assertThatThrownBy(() -> KeysetCursor.decode(token, Sort.Direction.ASC))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void cursorWithoutDirectionIsRefusedWhereOneIsRequired() {
+        String token = KeysetCursor.encode(CREATED_AT, 42L);
+
+        assertThat(KeysetCursor.decode(token).getId()).isEqualTo(42L);
+        assertThatThrownBy(() -> KeysetCursor.decode(token, Sort.Direction.ASC))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
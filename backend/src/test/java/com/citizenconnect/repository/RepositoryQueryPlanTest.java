@@ -0,0 +1,421 @@
+package com.citizenconnect.repository;
+
+import com.citizenconnect.entity.Comment;
+import com.citizenconnect.entity.Feedback;
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.OutboxMessage;
+import com.citizenconnect.entity.OutboxStatus;
+import com.citizenconnect.entity.RevokedToken;
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.entity.Update;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.support.MySqlIntegrationTest;
+import com.citizenconnect.support.RecordingDataSource;
+import com.citizenconnect.support.RecordingDataSource.RecordedStatement;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs every query method declared on every repository against a seeded
+ * MySQL, captures the SQL Hibernate actually sends, and fails if EXPLAIN shows
+ * a full scan of a table with no usable index. New repository methods are
+ * covered automatically; a method whose arguments cannot be synthesised fails
+ * until a rule is added to {@link #argument}.
+ *
+ * Whole-table queries that are intentional are listed in FULL_SCAN_ALLOWED.
+ */
+class RepositoryQueryPlanTest extends MySqlIntegrationTest {
+
+    // Plans are only judged on tables at least this big; the optimizer scans tiny tables regardless
+    private static final int MIN_ROWS = 100;
+
+    private static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            // Category filters and aggregates: no index, categories are few and unselective
+            "IssueRepository.findByCategory",
+            "IssueRepository.countByCategory",
+            "UpdateRepository.findByCategory",
+            // Unbounded listings of every row
+            "IssueRepository.findAllOrderByCreatedAtDesc",
+            "UserRepository.findByEnabledTrue",
+            // Substring search (LIKE '%term%'); the API searches through IssueSearchIndex instead
+            "IssueRepository.searchByKeyword",
+            "IssueRepository.searchDtosByKeyword",
+            "UserRepository.searchByName",
+            // Export with optional filters streams the whole table by design
+            "IssueRepository.streamForExport",
+            "ArchivedIssueRepository.streamForExport",
+            // Constituency alone is not indexed; lookups go through role + constituency
+            "UserRepository.findByConstituency"
+    );
+
+    private static final int USERS = 300;
+    private static final int ISSUES = 2000;
+    private static final int ARCHIVED_ISSUES = 500;
+    private static final int SMALL_TABLE_ROWS = 300;
+    private static final List<String> CATEGORIES = List.of("Roads", "Water", "Electricity", "Sanitation", "Safety");
+    private static boolean seeded;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private UpdateRepository updateRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private ArchivedIssueRepository archivedIssueRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    private static Fixture fixture;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        fixture = new TransactionTemplate(transactionManager).execute(status -> seedData());
+        for (String table : List.of("users", "issues", "comments", "feedbacks", "updates", "notification_outbox",
+                "revoked_tokens", "archived_issues", "archived_comments")) {
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        }
+        seeded = true;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseAnIndex() {
+        Repositories repositories = new Repositories(applicationContext);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType)
+                    .getRepositoryInterface();
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            Arrays.stream(repositoryInterface.getDeclaredMethods())
+                    .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                    .sorted(Comparator.comparing(Method::toGenericString))
+                    .forEach(method -> tests.add(DynamicTest.dynamicTest(
+                            repositoryInterface.getSimpleName() + "." + method.getName()
+                                    + Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                                    .collect(Collectors.joining(", ", "(", ")")),
+                            () -> checkPlan(repositoryInterface, repository, method))));
+        }
+        return tests.stream();
+    }
+
+    private void checkPlan(Class<?> repositoryInterface, Object repository, Method method) {
+        String key = repositoryInterface.getSimpleName() + "." + method.getName();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<RecordedStatement> statements = transaction.execute(status -> {
+            // Rolled back, so modifying queries leave the seeded data as it was
+            status.setRollbackOnly();
+            Object[] args = Arrays.stream(method.getParameters())
+                    .map(parameter -> argument(repositoryInterface, parameter))
+                    .toArray();
+            RecordingDataSource.start();
+            try {
+                Object result = method.invoke(repository, args);
+                if (result instanceof Stream<?> stream) {
+                    try (stream) {
+                        stream.forEach(row -> { });
+                    }
+                }
+                entityManager.flush();
+            } catch (ReflectiveOperationException e) {
+                RecordingDataSource.stop();
+                throw new IllegalStateException(key + " failed", e);
+            }
+            return RecordingDataSource.stop();
+        });
+
+        assertThat(statements).as("%s ran no SQL", key).isNotEmpty();
+        if (FULL_SCAN_ALLOWED.contains(key)) {
+            return;
+        }
+        List<String> fullScans = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            if (!explainable(statement.sql())) {
+                continue;
+            }
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                    statement.parameters().toArray())) {
+                String table = String.valueOf(row.get("table"));
+                Number rows = (Number) row.get("rows");
+                if ("ALL".equals(row.get("type")) && row.get("possible_keys") == null
+                        && !table.startsWith("<") && rows != null && rows.longValue() >= MIN_ROWS) {
+                    fullScans.add(table + " (" + rows + " rows): " + statement.sql());
+                }
+            }
+        }
+        assertThat(fullScans).as("%s scans whole tables without an index", key).isEmpty();
+    }
+
+    private static boolean explainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase();
+        return statement.startsWith("select") || statement.startsWith("update") || statement.startsWith("delete")
+                || (statement.startsWith("insert") && statement.contains(" select "));
+    }
+
+    /**
+     * Argument for a repository method parameter, picked by type and name so
+     * the query hits seeded rows.
+     */
+    private Object argument(Class<?> repositoryInterface, Parameter parameter) {
+        Class<?> type = parameter.getType();
+        String name = parameter.getName();
+        if (type == Long.class) {
+            return switch (name) {
+                case "id" -> fixture.idFor(repositoryInterface);
+                case "issueId", "rootId" -> fixture.issueId;
+                case "citizenId", "userId" -> fixture.citizenId;
+                case "politicianId" -> fixture.politicianId;
+                case "fromId", "afterId" -> 0L;
+                case "toId" -> Long.MAX_VALUE;
+                default -> fail("No argument rule for Long " + name);
+            };
+        }
+        if (type == int.class) {
+            return 10;
+        }
+        if (type == String.class) {
+            return switch (name) {
+                case "email" -> fixture.citizenEmail;
+                case "category" -> CATEGORIES.get(0);
+                case "constituency" -> fixture.constituency;
+                default -> "road";
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return switch (name) {
+                case "startDate", "cutoff" -> LocalDateTime.now().minusDays(30);
+                default -> LocalDateTime.now();
+            };
+        }
+        if (type == IssueStatus.class) {
+            return IssueStatus.OPEN;
+        }
+        if (type == OutboxStatus.class) {
+            return Arrays.stream(OutboxStatus.values())
+                    .filter(status -> status.name().equalsIgnoreCase(name))
+                    .findFirst().orElse(OutboxStatus.PENDING);
+        }
+        if (type == Role.class) {
+            return Role.POLITICIAN;
+        }
+        if (type == User.class) {
+            return entityManager.getReference(User.class, fixture.politicianId);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Type element = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+            if (element == Long.class) {
+                return fixture.idsFor(repositoryInterface, name);
+            }
+            if (element == IssueStatus.class) {
+                return List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+            }
+            if (element == OutboxStatus.class) {
+                return List.of(OutboxStatus.values());
+            }
+            if (element == String.class && name.equals("statuses")) {
+                return List.of(IssueStatus.RESOLVED.name(), IssueStatus.CLOSED.name());
+            }
+        }
+        return fail("No argument rule for " + parameter.getParameterizedType().getTypeName() + " " + name);
+    }
+
+    private Fixture seedData() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> citizens = new ArrayList<>();
+        List<User> politicians = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            boolean politician = i % 6 == 0;
+            User user = new User();
+            user.setFullName("Plan User " + i);
+            user.setEmail("plan.user" + i + "@example.com");
+            user.setPassword("x");
+            user.setConstituency("Ward " + (i % 10));
+            user.setRole(politician ? Role.POLITICIAN : Role.CITIZEN);
+            user.setEnabled(true);
+            (politician ? politicians : citizens).add(userRepository.save(user));
+        }
+
+        List<Issue> issues = new ArrayList<>();
+        for (int i = 0; i < ISSUES; i++) {
+            Issue issue = new Issue();
+            issue.setTitle("Issue " + i);
+            issue.setDescription("Road and drain repairs needed near block " + i);
+            issue.setCategory(CATEGORIES.get(i % CATEGORIES.size()));
+            IssueStatus status = IssueStatus.values()[i % IssueStatus.values().length];
+            issue.setStatus(status);
+            if (status.isFinished()) {
+                issue.setResolvedAt(now.minusDays(i % 400));
+            }
+            issue.setGeohash("ttnf" + (i % 32));
+            issue.setCitizen(citizens.get(i % citizens.size()));
+            issue.setAssignedPolitician(i % 3 == 0 ? null : politicians.get(i % politicians.size()));
+            issues.add(issueRepository.save(issue));
+        }
+
+        // Comments go on the first half of the issues only, so the second half can be bulk-deleted
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < ISSUES; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            comment.setFlagged(i % 50 == 0);
+            comment.setIssue(issues.get(i % (ISSUES / 2)));
+            comment.setUser(citizens.get(i % citizens.size()));
+            comments.add(commentRepository.save(comment));
+        }
+
+        List<Update> updates = new ArrayList<>();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < SMALL_TABLE_ROWS; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setRating(1 + i % 5);
+            feedback.setCategory(CATEGORIES.get(i % CATEGORIES.size()));
+            feedback.setCitizen(citizens.get(i % citizens.size()));
+            feedback.setPolitician(politicians.get(i % politicians.size()));
+            feedbackRepository.save(feedback);
+
+            Update update = new Update();
+            update.setTitle("Update " + i);
+            update.setContent("Progress report " + i);
+            update.setCategory(CATEGORIES.get(i % CATEGORIES.size()));
+            update.setPublished(i % 4 != 0);
+            update.setPolitician(politicians.get(i % politicians.size()));
+            updates.add(updateRepository.save(update));
+
+            OutboxMessage message = new OutboxMessage("WELCOME", "plan.user" + i + "@example.com", "Subject", "Body");
+            message.setStatus(OutboxStatus.values()[i % OutboxStatus.values().length]);
+            message.setNextAttemptAt(now.plusMinutes(i % 60));
+            messages.add(outboxMessageRepository.save(message));
+
+            revokedTokenRepository.save(new RevokedToken("plan-" + i, citizens.get(i % citizens.size()).getId(),
+                    now.plusHours(i % 48 - 24)));
+        }
+        entityManager.flush();
+
+        // Archived rows are copies of live ones; the ids do not clash because nothing is deleted
+        List<Long> archivedIds = issues.subList(0, ARCHIVED_ISSUES).stream().map(Issue::getId)
+                .collect(Collectors.toList());
+        archivedIssueRepository.copyFromLive(archivedIds, now);
+        archivedCommentRepository.copyFromLive(archivedIds, now);
+
+        Fixture seededFixture = new Fixture();
+        seededFixture.issueId = issues.get(ARCHIVED_ISSUES).getId();
+        seededFixture.issueIds = issues.subList(ISSUES - 20, ISSUES).stream().map(Issue::getId)
+                .collect(Collectors.toList());
+        seededFixture.archivedIssueId = archivedIds.get(0);
+        seededFixture.commentId = comments.get(0).getId();
+        seededFixture.commentIds = comments.subList(0, 20).stream().map(Comment::getId).collect(Collectors.toList());
+        seededFixture.updateId = updates.get(0).getId();
+        seededFixture.outboxId = messages.get(0).getId();
+        seededFixture.outboxIds = messages.subList(0, 20).stream().map(OutboxMessage::getId)
+                .collect(Collectors.toList());
+        seededFixture.citizenId = citizens.get(0).getId();
+        seededFixture.citizenEmail = citizens.get(0).getEmail();
+        seededFixture.politicianId = politicians.get(0).getId();
+        seededFixture.constituency = politicians.get(0).getConstituency();
+        return seededFixture;
+    }
+
+    private static class Fixture {
+        Long issueId;
+        List<Long> issueIds;
+        Long archivedIssueId;
+        Long commentId;
+        List<Long> commentIds;
+        Long updateId;
+        Long outboxId;
+        List<Long> outboxIds;
+        Long citizenId;
+        String citizenEmail;
+        Long politicianId;
+        String constituency;
+
+        Long idFor(Class<?> repositoryInterface) {
+            if (repositoryInterface == CommentRepository.class) {
+                return commentId;
+            }
+            if (repositoryInterface == UpdateRepository.class) {
+                return updateId;
+            }
+            if (repositoryInterface == OutboxMessageRepository.class) {
+                return outboxId;
+            }
+            if (repositoryInterface == ArchivedIssueRepository.class) {
+                return archivedIssueId;
+            }
+            return issueId;
+        }
+
+        List<Long> idsFor(Class<?> repositoryInterface, String name) {
+            if (name.equals("ids") && repositoryInterface == CommentRepository.class) {
+                return commentIds;
+            }
+            if (name.equals("ids") && repositoryInterface == OutboxMessageRepository.class) {
+                return outboxIds;
+            }
+            return issueIds;
+        }
+    }
+}
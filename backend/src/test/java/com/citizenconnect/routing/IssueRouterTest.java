@@ -0,0 +1,123 @@
+package com.citizenconnect.routing;
+
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.repository.IssueRepository;
+import com.citizenconnect.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent creations must not both land on the politician that looked
+ * least loaded when they decided: choosing and reserving is one step.
+ */
+class IssueRouterTest {
+
+    private static final String CONSTITUENCY = "Pune Central";
+    private static final int POLITICIANS = 4;
+
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PoliticianLoadTracker loadTracker = new PoliticianLoadTracker(issueRepository);
+    private final List<User> politicians = new ArrayList<>();
+
+    IssueRouterTest() {
+        when(issueRepository.countActiveByPolitician(any())).thenReturn(List.of());
+        when(issueRepository.countAssignedByPoliticianAndCategory()).thenReturn(List.of());
+        for (long id = 1; id <= POLITICIANS; id++) {
+            User politician = new User();
+            politician.setId(id);
+            politician.setEnabled(true);
+            politicians.add(politician);
+        }
+        when(userRepository.findPoliticiansByConstituency(CONSTITUENCY)).thenReturn(politicians);
+    }
+
+    @Test
+    void staleLoadIsNotReserved() {
+        assertThat(loadTracker.tryReserve(1L, 1L, "Roads", 0)).isTrue();
+        assertThat(loadTracker.tryReserve(2L, 1L, "Roads", 0)).isFalse();
+        assertThat(loadTracker.activeCount(1L)).isEqualTo(1);
+        assertThat(loadTracker.categoryCount(1L, "Roads")).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCreationsDoNotShareALeastLoadedPolitician() throws Exception {
+        // Both creations decide before either reserves, so both see politician 1 at load 0
+        CyclicBarrier decided = new CyclicBarrier(2);
+        IssueRouter router = router(new BarrierDecision(new LeastLoadedRoutingStrategy(), decided));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> first = executor.submit(() -> router.route(issue(1)));
+            Future<User> second = executor.submit(() -> router.route(issue(2)));
+            assertThat(first.get(10, TimeUnit.SECONDS).getId())
+                    .isNotEqualTo(second.get(10, TimeUnit.SECONDS).getId());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loadTracker.activeCount(1L)).isEqualTo(1);
+        assertThat(loadTracker.activeCount(2L)).isEqualTo(1);
+        assertThat(router.getMetrics().get("retries").longValue()).isEqualTo(1);
+    }
+
+    private IssueRouter router(RoutingStrategy strategy) {
+        IssueRouter router = new IssueRouter(userRepository, loadTracker, List.of(strategy));
+        ReflectionTestUtils.setField(router, "enabled", true);
+        ReflectionTestUtils.setField(router, "strategyName", strategy.getName());
+        router.init();
+        return router;
+    }
+
+    /**
+     * Holds each of the first two decisions until the other one is made.
+     */
+    private record BarrierDecision(RoutingStrategy delegate, CyclicBarrier barrier, AtomicInteger decisions)
+            implements RoutingStrategy {
+
+        BarrierDecision(RoutingStrategy delegate, CyclicBarrier barrier) {
+            this(delegate, barrier, new AtomicInteger());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public User choose(String constituency, String category, List<User> candidates, LoadSnapshot loads) {
+            User chosen = delegate.choose(constituency, category, candidates, loads);
+            if (decisions.getAndIncrement() < barrier.getParties()) {
+                try {
+                    barrier.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return chosen;
+        }
+    }
+
+    private static Issue issue(long id) {
+        User citizen = new User();
+        citizen.setConstituency(CONSTITUENCY);
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setCategory("Roads");
+        issue.setCitizen(citizen);
+        return issue;
+    }
+}
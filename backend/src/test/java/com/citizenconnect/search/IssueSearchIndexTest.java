@@ -0,0 +1,61 @@
+package com.citizenconnect.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The pruned top-k search must return exactly what ranking every match
+ * would, for any page.
+ */
+class IssueSearchIndexTest {
+
+    private static final List<String> VOCABULARY = List.of("pothole", "water", "leak", "streetlight", "garbage",
+            "drain", "traffic", "signal", "park", "school", "noise", "sewage", "bridge", "footpath", "electricity");
+
+    @Test
+    void prunedPagesMatchTheFullRanking() {
+        Random random = new Random(42);
+        IssueSearchIndex index = new IssueSearchIndex();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            ids.add(id);
+        }
+        // Out-of-order arrivals must keep the postings sorted
+        Collections.shuffle(ids.subList(2500, 3000), random);
+        for (long id : ids) {
+            index.add(id, words(random, 1 + random.nextInt(4)), words(random, 3 + random.nextInt(20)));
+        }
+        for (long id = 5; id <= 3000; id += 7) {
+            index.remove(id);
+        }
+
+        for (String query : List.of("pothole", "water leak", "drain sewage garbage", "traffic signal school park")) {
+            List<Long> all = index.search(query, 0, 3000).getIssueIds();
+            assertThat(all).isNotEmpty();
+            for (int size : List.of(1, 10, 25)) {
+                for (int page = 0; page < 4; page++) {
+                    int from = Math.min(page * size, all.size());
+                    int to = Math.min(from + size, all.size());
+                    IssueSearchIndex.SearchResult result = index.search(query, page, size);
+                    assertThat(result.getIssueIds()).as("%s page %d size %d", query, page, size)
+                            .isEqualTo(all.subList(from, to));
+                    assertThat(result.getTotalMatches()).isBetween((long) to, (long) all.size());
+                }
+            }
+        }
+    }
+
+    private static String words(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+        }
+        return String.join(" ", words);
+    }
+}
@@ -0,0 +1,41 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.support.MySqlIntegrationTest;
+import com.citizenconnect.support.TestTokens;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A logged-out token is rejected afterwards, including tokens issued before
+ * jtis existed, which are revoked through a per-user cutoff.
+ */
+class LogoutTest extends MySqlIntegrationTest {
+
+    // Not used by other tests: the cutoff revokes all of this user's jti-less tokens
+    private static final String CITIZEN_EMAIL = "priya.citizen@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void loggedOutLegacyTokenIsRejected() throws Exception {
+        String token = TestTokens.legacyToken(jwtSecret, CITIZEN_EMAIL);
+        mockMvc.perform(get("/api/issues/my-issues").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/issues/my-issues").header("Authorization", "Bearer " + token))
+                .andExpect(status().is4xxClientError());
+    }
+}
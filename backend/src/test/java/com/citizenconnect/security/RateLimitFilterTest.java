@@ -0,0 +1,67 @@
+package com.citizenconnect.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keying of anonymous clients behind a reverse proxy.
+ */
+class RateLimitFilterTest {
+
+    private static final String PROXY_ADDRESS = "10.0.0.1";
+
+    @Test
+    void clientsBehindTheProxyGetSeparateBuckets() throws Exception {
+        RateLimitFilter filter = filter(1);
+
+        assertThat(login(filter, "203.0.113.7")).isEqualTo(200);
+        assertThat(login(filter, "203.0.113.8")).isEqualTo(200);
+        assertThat(login(filter, "203.0.113.7")).isEqualTo(429);
+    }
+
+    @Test
+    void entriesLeftOfTheTrustedHopsAreIgnored() throws Exception {
+        RateLimitFilter filter = filter(1);
+
+        assertThat(login(filter, "198.51.100.1, 203.0.113.7")).isEqualTo(200);
+        // A different spoofed prefix does not buy a fresh bucket
+        assertThat(login(filter, "198.51.100.2, 203.0.113.7")).isEqualTo(429);
+    }
+
+    @Test
+    void headerIsIgnoredWithoutTrustedHops() throws Exception {
+        RateLimitFilter filter = filter(0);
+
+        assertThat(login(filter, "203.0.113.7")).isEqualTo(200);
+        assertThat(login(filter, "203.0.113.8")).isEqualTo(429);
+    }
+
+    private static RateLimitFilter filter(int trustedProxyHops) {
+        RateLimitProperties.RouteGroup group = new RateLimitProperties.RouteGroup();
+        group.setName("auth");
+        group.setPatterns(List.of("/api/auth/login"));
+        group.setCapacity(1);
+        group.setRefillPerSecond(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxyHops(trustedProxyHops);
+        properties.setGroups(List.of(group));
+        return new RateLimitFilter(properties, new RateLimiter(properties), new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static int login(RateLimitFilter filter, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setServletPath("/api/auth/login");
+        request.setRemoteAddr(PROXY_ADDRESS);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
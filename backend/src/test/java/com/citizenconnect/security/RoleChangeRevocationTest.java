@@ -0,0 +1,65 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.support.MySqlIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With the principal built from token claims, a demoted admin's token still
+ * says ADMIN. The role change must revoke it, so the next request is refused
+ * instead of running with the old role until the token expires.
+ */
+class RoleChangeRevocationTest extends MySqlIntegrationTest {
+
+    // Created here so the cutoff does not touch the seeded admin other tests log in as
+    private static final String DEMOTED_EMAIL = "demoted.admin@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void demotedAdminIsForbiddenOnTheNextRequest() throws Exception {
+        User demoted = new User();
+        demoted.setFullName("Demoted Admin");
+        demoted.setEmail(DEMOTED_EMAIL);
+        demoted.setPassword("not-used");
+        demoted.setRole(Role.ADMIN);
+        demoted.setEnabled(true);
+        demoted = userRepository.save(demoted);
+        String demotedToken = token(demoted);
+        String adminToken = token(userRepository.findByEmail("admin@citizenconnect.com").orElseThrow());
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/users/{id}/role", demoted.getId())
+                        .param("role", Role.CITIZEN.name())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String token(User user) {
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), null,
+                user.getRole(), user.isEnabled());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.citizenconnect.security;
+
+import com.citizenconnect.entity.User;
+import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.support.MySqlIntegrationTest;
+import com.citizenconnect.support.RecordingDataSource;
+import com.citizenconnect.support.RecordingDataSource.RecordedStatement;
+import com.citizenconnect.support.TestTokens;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements per authenticated request with and without the identity claims
+ * in the token. A token carrying uid/role/enabled must not cost a user lookup;
+ * a legacy token (subject only) falls back to loading the user by email.
+ */
+class StatelessPrincipalQueryTest extends MySqlIntegrationTest {
+
+    private static final String CITIZEN_EMAIL = "amit.citizen@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Test
+    void claimsTokenSkipsTheUserLookup() throws Exception {
+        User citizen = userRepository.findByEmail(CITIZEN_EMAIL).orElseThrow();
+        UserPrincipal principal = new UserPrincipal(citizen.getId(), citizen.getEmail(), null,
+                citizen.getRole(), citizen.isEnabled());
+        String claimsToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        String legacyToken = TestTokens.legacyToken(jwtSecret, CITIZEN_EMAIL);
+
+        // Warm up both tokens (signature cache, lazy beans) so only per-request work is counted
+        myIssues(claimsToken);
+        myIssues(legacyToken);
+
+        userDetailsCache.evict(CITIZEN_EMAIL);
+        List<RecordedStatement> legacy = myIssues(legacyToken);
+        List<RecordedStatement> claims = myIssues(claimsToken);
+
+        assertThat(userLookups(legacy)).as("legacy token, user not cached").isEqualTo(1);
+        assertThat(userLookups(claims)).as("claims token").isZero();
+        assertThat(claims).hasSize(legacy.size() - 1);
+    }
+
+    private List<RecordedStatement> myIssues(String token) throws Exception {
+        RecordingDataSource.start();
+        try {
+            mockMvc.perform(get("/api/issues/my-issues").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        } catch (Exception | AssertionError e) {
+            RecordingDataSource.stop();
+            throw e;
+        }
+        return RecordingDataSource.stop();
+    }
+
+    private static long userLookups(List<RecordedStatement> statements) {
+        return statements.stream()
+                .filter(statement -> statement.sql().contains("from users") && statement.sql().contains("email=?"))
+                .count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.event.IssueEvent;
+import com.citizenconnect.repository.ArchivedIssueRepository;
+import com.citizenconnect.repository.IssueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A reconcile must not double-count a write that is committed but whose
+ * event has not been applied yet.
+ */
+class IssueStatusCountersTest {
+
+    private final IssueRepository issueRepository = mock(IssueRepository.class);
+    private final ArchivedIssueRepository archivedIssueRepository = mock(ArchivedIssueRepository.class);
+    private final IssueStatusCounters counters = new IssueStatusCounters(issueRepository, archivedIssueRepository);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reconcileSkipsWhileAWriteIsInFlight() {
+        countsInDatabase(5);
+        counters.reconcile();
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(5);
+
+        // The write commits (the database now has 6) before its event is applied
+        TransactionSynchronizationManager.initSynchronization();
+        counters.onIssueEvent(IssueEvent.created(openIssue()));
+        countsInDatabase(6);
+        counters.reconcile();
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(5);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(6);
+
+        counters.reconcile();
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(6);
+    }
+
+    @Test
+    void rolledBackWriteIsNotCounted() {
+        countsInDatabase(5);
+        counters.reconcile();
+
+        TransactionSynchronizationManager.initSynchronization();
+        counters.onIssueEvent(IssueEvent.created(openIssue()));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(5);
+        counters.reconcile();
+        assertThat(counters.get(IssueStatus.OPEN)).isEqualTo(5);
+    }
+
+    private void countsInDatabase(long open) {
+        when(issueRepository.countGroupByStatus()).thenReturn(List.<Object[]>of(new Object[]{IssueStatus.OPEN, open}));
+        when(archivedIssueRepository.countGroupByStatus()).thenReturn(List.of());
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Issue openIssue() {
+        Issue issue = new Issue();
+        issue.setId(1L);
+        issue.setStatus(IssueStatus.OPEN);
+        return issue;
+    }
+}
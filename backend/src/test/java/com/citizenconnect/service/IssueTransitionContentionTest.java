@@ -0,0 +1,237 @@
+package com.citizenconnect.service;
+
+import com.citizenconnect.dto.BulkResultDTO;
+import com.citizenconnect.entity.Issue;
+import com.citizenconnect.entity.IssueStatus;
+import com.citizenconnect.entity.Role;
+import com.citizenconnect.entity.User;
+import com.citizenconnect.exception.ConflictException;
+import com.citizenconnect.repository.IssueRepository;
+import com.citizenconnect.repository.UserRepository;
+import com.citizenconnect.security.JwtTokenProvider;
+import com.citizenconnect.security.UserPrincipal;
+import com.citizenconnect.support.MySqlIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reassigning issues, one at a time or in bulk, while another request closes
+ * them. Each change either applies or is reported as a conflict; whatever
+ * applied must survive in the row, and the status counters, fed by the
+ * events, must move exactly as the rows did. Before assignment went through
+ * conditional UPDATEs, a whole-entity save or an unconditional bulk UPDATE
+ * could write IN_PROGRESS back over a CLOSED that had already committed.
+ */
+class IssueTransitionContentionTest extends MySqlIntegrationTest {
+
+    private static final int ROUNDS = 200;
+    private static final int BULK_ROUNDS = 20;
+    private static final int BULK_SIZE = 25;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IssueStatusCounters statusCounters;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void concurrentAssignAndCloseNeverLoseAnUpdate() throws Exception {
+        List<User> politicians = userRepository.findByRole(Role.POLITICIAN);
+        User first = politicians.get(0);
+        User second = politicians.get(1);
+        List<Long> issueIds = seed(ROUNDS, first);
+        Map<IssueStatus, Long> countersBefore = counters();
+        Map<IssueStatus, Long> rowsBefore = rows();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (Long issueId : issueIds) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Boolean> assign = executor.submit(() -> applied(start,
+                        () -> issueService.assignToPolitician(issueId, second.getId(), null)));
+                Future<Boolean> close = executor.submit(() -> applied(start,
+                        () -> issueService.updateIssueStatus(issueId, IssueStatus.CLOSED)));
+                boolean assigned = assign.get(10, TimeUnit.SECONDS);
+                boolean closed = close.get(10, TimeUnit.SECONDS);
+
+                assertOutcome(issueId, assigned, closed, first, second);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertCountersFollowedRows(countersBefore, rowsBefore);
+    }
+
+    @Test
+    void concurrentBulkAssignAndCloseNeverLoseAnUpdate() throws Exception {
+        List<User> politicians = userRepository.findByRole(Role.POLITICIAN);
+        User first = politicians.get(0);
+        User second = politicians.get(1);
+        String adminToken = adminToken();
+        List<List<Long>> batches = new ArrayList<>();
+        for (int round = 0; round < BULK_ROUNDS; round++) {
+            batches.add(seed(BULK_SIZE, first));
+        }
+        Map<IssueStatus, Long> countersBefore = counters();
+        Map<IssueStatus, Long> rowsBefore = rows();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (List<Long> batch : batches) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Map<Long, BulkResultDTO.Outcome>> assign = executor.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    return bulkAssign(adminToken, batch, second.getId());
+                });
+                Future<Map<Long, Boolean>> close = executor.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    Map<Long, Boolean> closed = new HashMap<>();
+                    for (Long issueId : batch) {
+                        closed.put(issueId, applied(() -> issueService.updateIssueStatus(issueId, IssueStatus.CLOSED)));
+                    }
+                    return closed;
+                });
+                Map<Long, BulkResultDTO.Outcome> assigned = assign.get(30, TimeUnit.SECONDS);
+                Map<Long, Boolean> closed = close.get(30, TimeUnit.SECONDS);
+
+                for (Long issueId : batch) {
+                    assertThat(assigned.get(issueId)).isIn(BulkResultDTO.Outcome.UPDATED, BulkResultDTO.Outcome.CONFLICT);
+                    assertOutcome(issueId, assigned.get(issueId) == BulkResultDTO.Outcome.UPDATED,
+                            closed.get(issueId), first, second);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertCountersFollowedRows(countersBefore, rowsBefore);
+    }
+
+    private List<Long> seed(int count, User politician) {
+        User citizen = userRepository.findByEmail("rajesh.citizen@example.com").orElseThrow();
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Issue issue = new Issue();
+                issue.setTitle("Contended issue " + i);
+                issue.setDescription("Assigned and closed at the same time");
+                issue.setCategory("Roads");
+                issue.setCitizen(citizen);
+                issue.setAssignedPolitician(politician);
+                ids.add(issueRepository.save(issue).getId());
+            }
+            return ids;
+        });
+    }
+
+    // Every serial order of "assign to second" and "close" leaves exactly this row
+    private void assertOutcome(Long issueId, boolean assigned, boolean closed, User first, User second) {
+        Issue issue = issueRepository.findById(issueId).orElseThrow();
+        assertThat(assigned || closed).isTrue();
+        assertThat(issue.getStatus()).isEqualTo(closed ? IssueStatus.CLOSED : IssueStatus.IN_PROGRESS);
+        assertThat(issue.getAssignedPolitician().getId()).isEqualTo(assigned ? second.getId() : first.getId());
+    }
+
+    private void assertCountersFollowedRows(Map<IssueStatus, Long> countersBefore, Map<IssueStatus, Long> rowsBefore) {
+        Map<IssueStatus, Long> countersAfter = counters();
+        Map<IssueStatus, Long> rowsAfter = rows();
+        for (IssueStatus status : IssueStatus.values()) {
+            assertThat(countersAfter.get(status) - countersBefore.get(status))
+                    .as("counter delta for %s", status)
+                    .isEqualTo(rowsAfter.get(status) - rowsBefore.get(status));
+        }
+    }
+
+    private String adminToken() {
+        User admin = userRepository.findByEmail("admin@citizenconnect.com").orElseThrow();
+        UserPrincipal principal = new UserPrincipal(admin.getId(), admin.getEmail(), null,
+                admin.getRole(), admin.isEnabled());
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Map<Long, BulkResultDTO.Outcome> bulkAssign(String token, List<Long> issueIds, Long politicianId)
+            throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("issueIds", issueIds, "politicianId", politicianId));
+        String response = mockMvc.perform(put("/api/issues/bulk/assign")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Map<Long, BulkResultDTO.Outcome> outcomes = new HashMap<>();
+        for (JsonNode result : objectMapper.readTree(response).path("data").path("results")) {
+            outcomes.put(result.path("issueId").asLong(),
+                    BulkResultDTO.Outcome.valueOf(result.path("outcome").asText()));
+        }
+        return outcomes;
+    }
+
+    private static boolean applied(CyclicBarrier start, Runnable request) throws Exception {
+        start.await(10, TimeUnit.SECONDS);
+        return applied(request);
+    }
+
+    private static boolean applied(Runnable request) {
+        try {
+            request.run();
+            return true;
+        } catch (ConflictException e) {
+            return false;
+        }
+    }
+
+    private Map<IssueStatus, Long> counters() {
+        Map<IssueStatus, Long> counts = new EnumMap<>(IssueStatus.class);
+        for (IssueStatus status : IssueStatus.values()) {
+            counts.put(status, statusCounters.get(status));
+        }
+        return counts;
+    }
+
+    private Map<IssueStatus, Long> rows() {
+        Map<IssueStatus, Long> counts = new EnumMap<>(IssueStatus.class);
+        for (IssueStatus status : IssueStatus.values()) {
+            counts.put(status, issueRepository.countByStatus(status));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,33 @@
+package com.citizenconnect.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that need the real database: the full application
+ * context against a MySQL 8 container, with the "test" profile switching off
+ * the background jobs and statements recordable through RecordingDataSource.
+ *
+ * The container is started once per JVM and shared by every subclass, so the
+ * Spring context (and the data DataInitializer seeds) is cached across test
+ * classes. Without Docker the tests are skipped rather than failed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(RecordingDataSourceConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlIntegrationTest {
+
+    @ServiceConnection
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36");
+
+    static {
+        MYSQL.start();
+    }
+}
@@ -0,0 +1,27 @@
+package com.citizenconnect.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link RecordingDataSource} in front of the application's DataSource.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class RecordingDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor recordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                    return new RecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
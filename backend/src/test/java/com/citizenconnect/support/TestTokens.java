@@ -0,0 +1,29 @@
+package com.citizenconnect.support;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Tokens in the shape older builds issued, for tests of the fallback paths.
+ */
+public final class TestTokens {
+
+    private TestTokens() {
+    }
+
+    /**
+     * Subject-only token, as issued before the identity claims and the jti
+     * were added.
+     */
+    public static String legacyToken(String secret, String email) {
+        return Jwts.builder()
+                .subject(email)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -103,7 +103,9 @@ export const updateAPI = {
 
 // Comment API
 export const commentAPI = {
-    getByIssue: (issueId) => api.get(`/comments/issue/${issueId}`),
+    getPage: (issueId, cursor, size = 50) => api.get(`/comments/issue/${issueId}/cursor`, {
+        params: { direction: 'ASC', cursor, size }
+    }),
     add: (issueId, content) => api.post(`/comments/issue/${issueId}`, { content }),
     getFlagged: () => api.get('/comments/flagged'),
     flag: (id, reason) => api.put(`/comments/${id}/flag`, { reason }),
@@ -12,6 +12,8 @@ function IssueDetail() {
 
     const [issue, setIssue] = useState(null);
     const [comments, setComments] = useState([]);
+    const [commentsCursor, setCommentsCursor] = useState(null);
+    const [loadingComments, setLoadingComments] = useState(false);
     const [newComment, setNewComment] = useState('');
     const [response, setResponse] = useState('');
     const [loading, setLoading] = useState(true);
@@ -24,10 +26,11 @@ function IssueDetail() {
         try {
             const [issueRes, commentsRes] = await Promise.all([
                 issueAPI.getById(id),
-                commentAPI.getByIssue(id)
+                commentAPI.getPage(id)
             ]);
             setIssue(issueRes.data.data);
-            setComments(commentsRes.data.data);
+            setComments(commentsRes.data.data.items);
+            setCommentsCursor(commentsRes.data.data.nextCursor);
         } catch (error) {
             toast.error('Failed to load issue details');
             navigate('/issues');
@@ -36,12 +39,28 @@ function IssueDetail() {
         }
     };
 
+    const loadMoreComments = async () => {
+        setLoadingComments(true);
+        try {
+            const res = await commentAPI.getPage(id, commentsCursor);
+            setComments([...comments, ...res.data.data.items]);
+            setCommentsCursor(res.data.data.nextCursor);
+        } catch (error) {
+            toast.error('Failed to load more comments');
+        } finally {
+            setLoadingComments(false);
+        }
+    };
+
     const handleAddComment = async () => {
         if (!newComment.trim()) return;
 
         try {
             const res = await commentAPI.add(id, newComment);
-            setComments([...comments, res.data.data]);
+            // Comments are oldest first; while later pages are still unloaded the new one shows up with the last of them
+            if (!commentsCursor) {
+                setComments([...comments, res.data.data]);
+            }
             setNewComment('');
             toast.success('Comment added');
         } catch (error) {
@@ -215,7 +234,7 @@ function IssueDetail() {
                     <div className="card mt-lg">
                         <h3 className="mb-lg">
                             <FiMessageSquare style={{ marginRight: '0.5rem' }} />
-                            Comments ({comments.length})
+                            Comments ({commentsCursor ? issue.commentCount : comments.length})
                         </h3>
 
                         {comments.length > 0 ? (
@@ -239,6 +258,12 @@ function IssueDetail() {
                                         <p>{comment.content}</p>
                                     </div>
                                 ))}
+                                {commentsCursor && (
+                                    <button onClick={loadMoreComments} className="btn btn-secondary mt-md"
+                                        disabled={loadingComments}>
+                                        {loadingComments ? 'Loading...' : 'Load more comments'}
+                                    </button>
+                                )}
                             </div>
                         ) : (
                             <p className="text-muted">No comments yet. Be the first to comment!</p>